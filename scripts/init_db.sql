@@ -162,3 +162,14 @@ CREATE TABLE IF NOT EXISTS signal_outcomes (
 
 CREATE INDEX IF NOT EXISTS idx_signal_outcomes_signal_id ON signal_outcomes(signal_id);
 CREATE INDEX IF NOT EXISTS idx_signal_outcomes_horizon ON signal_outcomes(horizon_days);
+
+-- Per-signal return curve: returns is a BLOB of horizon_count little-endian
+-- doubles (return after 1..horizon_count trading days, NaN where the bar is missing)
+CREATE TABLE IF NOT EXISTS signal_return_curves (
+    signal_id INTEGER PRIMARY KEY,
+    entry_price REAL NOT NULL,
+    horizon_count INTEGER NOT NULL,
+    returns BLOB NOT NULL,
+    computed_at TEXT NOT NULL,
+    FOREIGN KEY (signal_id) REFERENCES scan_results(id)
+);
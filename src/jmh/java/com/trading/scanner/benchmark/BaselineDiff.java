@@ -0,0 +1,80 @@
+package com.trading.scanner.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (as written with {@code -rf json}) and prints the
+ * change of every benchmark/parameter combination present in both.
+ *
+ * Usage: {@code BaselineDiff <baseline.json> <current.json> [thresholdPercent]}
+ *
+ * Exits with status 1 if any score regressed by more than the threshold (default 10%).
+ * Regression direction follows the benchmark mode: higher is worse for time-per-op modes,
+ * lower is worse for throughput.
+ */
+public final class BaselineDiff {
+
+    private BaselineDiff() {
+    }
+
+    private record Score(String mode, double value) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineDiff <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", after.value(), "new");
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            boolean higherIsWorse = !"thrpt".equals(after.mode());
+            double worsening = higherIsWorse ? change : -change;
+            boolean regressed = worsening > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value(), after.value(),
+                change, regressed ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(result.path("mode").asText(), metric.path("score").asDouble()));
+        }
+        return scores;
+    }
+}
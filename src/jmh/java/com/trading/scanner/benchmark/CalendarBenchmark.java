@@ -0,0 +1,78 @@
+package com.trading.scanner.benchmark;
+
+import com.trading.scanner.calendar.DefaultTradingCalendar;
+import com.trading.scanner.calendar.NseHolidayCalendar;
+import com.trading.scanner.calendar.TradingCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trading-calendar arithmetic with the static NSE holiday list and no emergency closures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBenchmark {
+
+    private static final int DATE_COUNT = 1024;
+
+    @Param({"5", "20", "252"})
+    public int offset;
+
+    private TradingCalendar calendar;
+    private LocalDate[] dates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // No repository: the closure snapshot stays empty and is never reloaded
+        calendar = new DefaultTradingCalendar(new NseHolidayCalendar(null));
+        Random random = new Random(7);
+        dates = new LocalDate[DATE_COUNT];
+        for (int i = 0; i < DATE_COUNT; i++) {
+            dates[i] = LocalDate.of(2023, 1, 1).plusDays(random.nextInt(4 * 365));
+        }
+    }
+
+    private LocalDate nextDate() {
+        next = (next + 1) & (DATE_COUNT - 1);
+        return dates[next];
+    }
+
+    @Benchmark
+    public LocalDate addTradingDays() {
+        return calendar.addTradingDays(nextDate(), offset);
+    }
+
+    @Benchmark
+    public LocalDate subtractTradingDays() {
+        return calendar.addTradingDays(nextDate(), -offset);
+    }
+
+    @Benchmark
+    public int tradingDaysBetween() {
+        LocalDate start = nextDate();
+        return calendar.tradingDaysBetween(start, start.plusDays(offset));
+    }
+
+    @Benchmark
+    public boolean isTradingDay() {
+        return calendar.isTradingDay(nextDate());
+    }
+}
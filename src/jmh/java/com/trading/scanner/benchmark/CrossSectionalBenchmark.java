@@ -0,0 +1,74 @@
+package com.trading.scanner.benchmark;
+
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.CrossSectionalIndicatorEngine;
+import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.indicators.IndicatorService;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indicators for a whole universe on one scan date: per-symbol columnar calculation
+ * against the scalar and vector cross-sectional kernels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class CrossSectionalBenchmark {
+
+    private static final IndicatorParameters PARAMS = new IndicatorParameters(14, 20, 50, 200);
+
+    @Param({"500", "5000"})
+    public int universe;
+
+    private final IndicatorService indicatorService = new IndicatorService();
+    private final CrossSectionalIndicatorEngine scalarEngine = new CrossSectionalIndicatorEngine(false);
+    private final CrossSectionalIndicatorEngine vectorEngine = new CrossSectionalIndicatorEngine(true);
+
+    private List<PriceSeries> series;
+    private int[] ends;
+
+    @Setup
+    public void setUp() {
+        series = new ArrayList<>(SyntheticMarket.universe(universe, 250).values());
+        ends = new int[series.size()];
+        for (int i = 0; i < ends.length; i++) {
+            ends[i] = series.get(i).size();
+        }
+    }
+
+    @Benchmark
+    public void perSymbol(Blackhole blackhole) {
+        for (int i = 0; i < ends.length; i++) {
+            blackhole.consume(indicatorService.calculateIndicators(series.get(i), ends[i], PARAMS));
+        }
+    }
+
+    @Benchmark
+    public IndicatorBundle[] crossSectionalScalar() {
+        return scalarEngine.calculateIndicators(series, ends, PARAMS);
+    }
+
+    @Benchmark
+    public IndicatorBundle[] crossSectionalVector() {
+        return vectorEngine.calculateIndicators(series, ends, PARAMS);
+    }
+}
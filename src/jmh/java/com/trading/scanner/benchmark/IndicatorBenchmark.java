@@ -0,0 +1,90 @@
+package com.trading.scanner.benchmark;
+
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.indicators.IndicatorService;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-symbol indicator calculations, over both the list-based and the columnar inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    private static final IndicatorParameters PARAMS = new IndicatorParameters(14, 20, 50, 200);
+
+    @Param({"250", "1250", "5000"})
+    public int bars;
+
+    private final IndicatorService indicatorService = new IndicatorService();
+
+    private List<StockPrice> prices;
+    private PriceSeries series;
+
+    @Setup
+    public void setUp() {
+        prices = new ArrayList<>(SyntheticMarket.bars("SYN00000", bars, 42));
+        series = PriceSeries.of("SYN00000", prices);
+    }
+
+    @Benchmark
+    public Double rsiList() {
+        return indicatorService.calculateRSI(prices, PARAMS.rsiPeriod());
+    }
+
+    @Benchmark
+    public Double smaLongList() {
+        return indicatorService.calculateSMA(prices, PARAMS.smaLongPeriod());
+    }
+
+    @Benchmark
+    public Double atrList() {
+        return indicatorService.calculateATR(prices, 14);
+    }
+
+    @Benchmark
+    public IndicatorBundle bundleList() {
+        return indicatorService.calculateIndicators(prices, PARAMS);
+    }
+
+    @Benchmark
+    public Double rsiColumnar() {
+        return indicatorService.calculateRSI(series, series.size(), PARAMS.rsiPeriod());
+    }
+
+    @Benchmark
+    public Double smaLongColumnar() {
+        return indicatorService.calculateSMA(series, series.size(), PARAMS.smaLongPeriod());
+    }
+
+    @Benchmark
+    public Double atrColumnar() {
+        return indicatorService.calculateATR(series, series.size(), 14);
+    }
+
+    @Benchmark
+    public IndicatorBundle bundleColumnar() {
+        return indicatorService.calculateIndicators(series, series.size(), PARAMS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.trading.scanner.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.scanner.config.BreakoutRuleProperties;
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.indicators.IndicatorService;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import com.trading.scanner.service.scanner.rules.BreakoutConfirmedRule;
+import com.trading.scanner.service.scanner.trace.ScanTraceRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BreakoutConfirmedRule#matches} over a whole synthetic universe, with indicators
+ * precomputed so only rule evaluation is measured.
+ *
+ * The largest combinations hold tens of millions of bars; narrow them with
+ * {@code -p universe=... -p bars=...} on small machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RuleBenchmark {
+
+    /** Mirrors the rules.breakout.* defaults in application.properties. */
+    static final BreakoutRuleProperties DEFAULT_PROPERTIES = new BreakoutRuleProperties(
+        21, 14, 20, 50, 200, 50.0, 1.5, 60.0, 2.0, 0.5, 0.1, 1.0, 0.05);
+
+    @Param({"50", "500", "5000"})
+    public int universe;
+
+    @Param({"250", "1250", "5000"})
+    public int bars;
+
+    private BreakoutConfirmedRule rule;
+    private List<String> symbols;
+    private List<List<StockPrice>> windows;
+    private List<IndicatorBundle> indicators;
+
+    @Setup
+    public void setUp() {
+        rule = new BreakoutConfirmedRule(new ObjectMapper(), DEFAULT_PROPERTIES, ScanTraceRecorder.disabled());
+        IndicatorService indicatorService = new IndicatorService();
+        IndicatorParameters params = new IndicatorParameters(
+            DEFAULT_PROPERTIES.rsiPeriod(), DEFAULT_PROPERTIES.smaShortPeriod(),
+            DEFAULT_PROPERTIES.smaMediumPeriod(), DEFAULT_PROPERTIES.smaLongPeriod());
+
+        symbols = new ArrayList<>(universe);
+        windows = new ArrayList<>(universe);
+        indicators = new ArrayList<>(universe);
+        for (Map.Entry<String, PriceSeries> entry : SyntheticMarket.universe(universe, bars).entrySet()) {
+            PriceSeries series = entry.getValue();
+            symbols.add(entry.getKey());
+            windows.add(series.asStockPrices(series.size()));
+            indicators.add(indicatorService.calculateIndicators(series, series.size(), params));
+        }
+    }
+
+    @Benchmark
+    public int matchUniverse() {
+        int matched = 0;
+        for (int i = 0; i < symbols.size(); i++) {
+            if (rule.matches(symbols.get(i), windows.get(i), indicators.get(i))) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
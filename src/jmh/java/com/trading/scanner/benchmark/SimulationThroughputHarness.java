@@ -0,0 +1,180 @@
+package com.trading.scanner.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.trading.scanner.ScannerApplication;
+import com.trading.scanner.service.simulation.SimulationBatchResult;
+import com.trading.scanner.service.simulation.SimulationCycleResult;
+import com.trading.scanner.service.simulation.SimulationCycleService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * End-to-end simulation throughput harness.
+ *
+ * Boots the application in the {@code simulation} profile (no web server) against a private
+ * copy of an on-disk SQLite fixture, drives {@link SimulationCycleService#advanceSimulation}
+ * for the requested number of trading days, and reports cycles per second, p50/p99 latency
+ * for the whole cycle and for each stage, and heap allocated per cycle.
+ *
+ * Allocation is measured on the cycle's own thread only: with {@code scanner.parallel.enabled}
+ * the scan workers' allocations are not included, and the report says so.
+ *
+ * Usage:
+ * <pre>
+ * mvn -Pbenchmarks compile exec:exec@simulation-throughput -Dsim.fixture=data/market_scanner_sim.db -Dsim.days=252
+ * </pre>
+ * Arguments: {@code --fixture=<db> [--days=252] [--batch=1] [--warmup=0] [--report=<json>]}
+ */
+public final class SimulationThroughputHarness {
+
+    private SimulationThroughputHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Path fixture = Path.of(require(options, "fixture"));
+        int days = Integer.parseInt(options.getOrDefault("days", "252"));
+        int batch = Math.max(1, Integer.parseInt(options.getOrDefault("batch", "1")));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "0"));
+        Path report = Path.of(options.getOrDefault("report", "target/simulation-throughput.json"));
+
+        // Work on a copy so every run starts from the same fixture state
+        Path workDir = Files.createTempDirectory("sim-harness");
+        Path database = workDir.resolve("simulation.db");
+        Files.copy(fixture, database, StandardCopyOption.REPLACE_EXISTING);
+
+        // Command-line arguments, so they win over application-simulation.properties and
+        // every file the run writes lands in the work directory
+        String[] overrides = {
+            "--spring.datasource.url=jdbc:sqlite:" + database.toAbsolutePath(),
+            "--scanner.indicators.stateFile=" + workDir.resolve("indicator-state.bin"),
+            "--scanner.archive.dir=" + workDir.resolve("price-archive"),
+            "--simulation.snapshotDir=" + workDir.resolve("snapshots"),
+            "--spring.jpa.properties.hibernate.show_sql=false",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql=WARN",
+            "--logging.level.com.zaxxer.hikari=WARN"
+        };
+
+        SpringApplication application = new SpringApplication(ScannerApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("simulation");
+
+        List<SimulationCycleResult> cycles = new ArrayList<>(days);
+        long wallNanos;
+        boolean parallelScan;
+        try (ConfigurableApplicationContext context = application.run(overrides)) {
+            SimulationCycleService simulation = context.getBean(SimulationCycleService.class);
+            parallelScan = context.getEnvironment().getProperty("scanner.parallel.enabled", Boolean.class, false);
+
+            if (warmup > 0) {
+                simulation.advanceSimulation(warmup);
+            }
+
+            long start = System.nanoTime();
+            int remaining = days;
+            while (remaining > 0) {
+                int step = Math.min(batch, remaining);
+                SimulationBatchResult result = simulation.advanceSimulation(step);
+                cycles.addAll(result.cycleResults());
+                remaining -= step;
+            }
+            wallNanos = System.nanoTime() - start;
+        }
+
+        Map<String, Object> summary = summarise(cycles, wallNanos, batch, warmup, fixture, parallelScan);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        mapper.writeValue(report.toFile(), summary);
+        System.out.println(mapper.writeValueAsString(summary));
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summarise(List<SimulationCycleResult> cycles, long wallNanos,
+                                                 int batch, int warmup, Path fixture, boolean parallelScan) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("fixture", fixture.toString());
+        summary.put("cycles", cycles.size());
+        summary.put("batch", batch);
+        summary.put("warmupCycles", warmup);
+        summary.put("wallSeconds", wallNanos / 1e9);
+        summary.put("cyclesPerSecond", cycles.isEmpty() ? 0 : cycles.size() / (wallNanos / 1e9));
+        summary.put("signals", cycles.stream().mapToLong(SimulationCycleResult::signalsGenerated).sum());
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("cycle", percentiles(cycles, SimulationCycleResult::durationMs));
+        latency.put("ingest", percentiles(cycles, SimulationCycleResult::ingestMs));
+        latency.put("scan", percentiles(cycles, SimulationCycleResult::scanMs));
+        latency.put("outcomes", percentiles(cycles, SimulationCycleResult::outcomesMs));
+        summary.put("latencyMs", latency);
+
+        long[] allocated = cycles.stream().mapToLong(SimulationCycleResult::allocatedBytes)
+            .filter(bytes -> bytes >= 0).toArray();
+        summary.put("allocatedBytesPerCycle", allocated.length == 0
+            ? null
+            : Arrays.stream(allocated).average().orElse(0));
+        summary.put("allocatedBytesScope", parallelScan
+            ? "cycle thread only; parallel scan worker allocations are not included"
+            : "cycle thread");
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(List<SimulationCycleResult> cycles,
+                                                   ToLongFunction<SimulationCycleResult> metric) {
+        long[] values = cycles.stream().mapToLong(metric).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("p50", percentile(values, 50));
+        result.put("p99", percentile(values, 99));
+        result.put("max", values.length == 0 ? 0 : values[values.length - 1]);
+        result.put("total", Arrays.stream(values).sum());
+        return result;
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                String value = arg.substring(eq + 1);
+                if (!value.isEmpty()) {
+                    options.put(arg.substring(2, eq), value);
+                }
+            }
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name + "=...");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.trading.scanner.benchmark;
+
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic price history for benchmarks.
+ *
+ * Each symbol is a seeded geometric random walk on weekdays ending at {@link #LAST_DATE},
+ * with plausible intraday ranges and volumes, so the same parameters always produce the
+ * same bars and benchmark runs stay comparable across releases.
+ */
+public final class SyntheticMarket {
+
+    public static final LocalDate LAST_DATE = LocalDate.of(2025, 12, 31);
+
+    private SyntheticMarket() {
+    }
+
+    public static String symbol(int index) {
+        return String.format("SYN%05d", index);
+    }
+
+    /**
+     * {@code bars} consecutive weekday bars for a symbol, oldest first.
+     */
+    public static List<StockPrice> bars(String symbol, int bars, long seed) {
+        Random random = new Random(seed);
+        List<LocalDate> dates = weekdaysEndingAt(LAST_DATE, bars);
+        List<StockPrice> prices = new ArrayList<>(bars);
+
+        double close = 50 + random.nextDouble() * 950;
+        for (LocalDate date : dates) {
+            double open = close * (1 + random.nextGaussian() * 0.004);
+            close = close * Math.exp(0.0003 + random.nextGaussian() * 0.015);
+            double high = Math.max(open, close) * (1 + Math.abs(random.nextGaussian()) * 0.006);
+            double low = Math.min(open, close) * (1 - Math.abs(random.nextGaussian()) * 0.006);
+            int volume = (int) Math.min(Integer.MAX_VALUE, Math.exp(13 + random.nextGaussian() * 0.6));
+
+            prices.add(StockPrice.builder()
+                .symbol(symbol)
+                .date(date)
+                .openPrice(open)
+                .highPrice(high)
+                .lowPrice(low)
+                .closePrice(close)
+                .adjClose(close)
+                .volume(volume)
+                .build());
+        }
+        return prices;
+    }
+
+    public static PriceSeries series(String symbol, int bars, long seed) {
+        return PriceSeries.of(symbol, bars(symbol, bars, seed));
+    }
+
+    /**
+     * A universe of {@code symbols} series with {@code bars} bars each, keyed by symbol.
+     */
+    public static Map<String, PriceSeries> universe(int symbols, int bars) {
+        Map<String, PriceSeries> universe = new LinkedHashMap<>(symbols * 2);
+        for (int i = 0; i < symbols; i++) {
+            String symbol = symbol(i);
+            universe.put(symbol, series(symbol, bars, i));
+        }
+        return universe;
+    }
+
+    private static List<LocalDate> weekdaysEndingAt(LocalDate last, int count) {
+        List<LocalDate> dates = new ArrayList<>(count);
+        LocalDate date = last;
+        while (dates.size() < count) {
+            DayOfWeek day = date.getDayOfWeek();
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                dates.add(date);
+            }
+            date = date.minusDays(1);
+        }
+        Collections.reverse(dates);
+        return dates;
+    }
+}
@@ -3,15 +3,32 @@ package com.trading.scanner.calendar;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 
 /**
  * Default implementation of the {@link TradingCalendar}.
  * It uses a provided holiday calendar to determine trading days and perform date arithmetic.
+ *
+ * Date arithmetic runs against a precomputed {@link TradingDayIndex}: a dense, sorted array of
+ * trading days plus a running count per calendar day. Offsets and counts are then array
+ * lookups instead of day-by-day session checks. The index grows to cover whatever range is
+ * asked for and is rebuilt when the holiday calendar reports a change in emergency closures.
  */
 public class DefaultTradingCalendar implements TradingCalendar {
 
+    /** Extra calendar days indexed on each side whenever the index has to grow. */
+    private static final int INDEX_PADDING_DAYS = 366;
+
+    /** Search bound used by nextTradingDay/previousTradingDay (10 years). */
+    private static final long NEIGHBOUR_SEARCH_DAYS = 3653;
+
+    /** Search bound used by addTradingDays, comfortably beyond its 100-year argument limit. */
+    private static final long OFFSET_SEARCH_DAYS = 366L * 110;
+
     private final NseHolidayCalendar holidayCalendar;
 
+    private volatile TradingDayIndex index;
+
     public DefaultTradingCalendar(NseHolidayCalendar holidayCalendar) {
         this.holidayCalendar = holidayCalendar;
     }
@@ -38,35 +55,26 @@ public class DefaultTradingCalendar implements TradingCalendar {
 
     @Override
     public boolean isTradingDay(LocalDate date) {
-        return getSession(date).isTradingSession();
+        long day = date.toEpochDay();
+        return indexCovering(day, day).isTradingDay(day);
     }
 
     @Override
     public LocalDate nextTradingDay(LocalDate date) {
-        LocalDate nextDay = date.plusDays(1);
-        // Safety break after 10 years to prevent infinite loops.
-        LocalDate limit = date.plusYears(10);
-        while (nextDay.isBefore(limit)) {
-            if (isTradingDay(nextDay)) {
-                return nextDay;
-            }
-            nextDay = nextDay.plusDays(1);
+        LocalDate next = offset(date, 1, NEIGHBOUR_SEARCH_DAYS);
+        if (next == null) {
+            throw new IllegalStateException("Could not find next trading day within 10 years for date: " + date);
         }
-        throw new IllegalStateException("Could not find next trading day within 10 years for date: " + date);
+        return next;
     }
 
     @Override
     public LocalDate previousTradingDay(LocalDate date) {
-        LocalDate prevDay = date.minusDays(1);
-        // Safety break after 10 years to prevent infinite loops.
-        LocalDate limit = date.minusYears(10);
-        while (prevDay.isAfter(limit)) {
-            if (isTradingDay(prevDay)) {
-                return prevDay;
-            }
-            prevDay = prevDay.minusDays(1);
+        LocalDate previous = offset(date, -1, NEIGHBOUR_SEARCH_DAYS);
+        if (previous == null) {
+            throw new IllegalStateException("Could not find previous trading day within 10 years for date: " + date);
         }
-        throw new IllegalStateException("Could not find previous trading day within 10 years for date: " + date);
+        return previous;
     }
 
     @Override
@@ -83,15 +91,9 @@ public class DefaultTradingCalendar implements TradingCalendar {
             throw new IllegalArgumentException("Cannot add/subtract more than 100 years of trading days.");
         }
 
-        LocalDate result = date;
-        if (days > 0) {
-            for (int i = 0; i < days; i++) {
-                result = nextTradingDay(result);
-            }
-        } else {
-            for (int i = 0; i < Math.abs(days); i++) {
-                result = previousTradingDay(result);
-            }
+        LocalDate result = offset(date, days, OFFSET_SEARCH_DAYS);
+        if (result == null) {
+            throw new IllegalStateException("Could not find " + days + " trading days from date: " + date);
         }
         return result;
     }
@@ -112,14 +114,118 @@ public class DefaultTradingCalendar implements TradingCalendar {
             return -tradingDaysBetween(endInclusive, startExclusive);
         }
 
-        int tradingDays = 0;
-        LocalDate currentDate = startExclusive.plusDays(1);
-        while (!currentDate.isAfter(endInclusive)) {
-            if (isTradingDay(currentDate)) {
-                tradingDays++;
+        long start = startExclusive.toEpochDay();
+        long end = endInclusive.toEpochDay();
+        TradingDayIndex current = indexCovering(start, end);
+        return current.countThrough(end) - current.countThrough(start);
+    }
+
+    /**
+     * The {@code days}-th trading day strictly after (positive) or before (negative) the
+     * given date, or null if there is none within {@code searchLimitDays} calendar days.
+     */
+    private LocalDate offset(LocalDate date, int days, long searchLimitDays) {
+        long day = date.toEpochDay();
+        // Trading days are well over a third of calendar days, so this usually suffices
+        long span = Math.min(Math.abs((long) days) * 3 + 14, searchLimitDays);
+        while (true) {
+            TradingDayIndex current = days > 0
+                ? indexCovering(day, day + span)
+                : indexCovering(day - span, day);
+            long found = current.offset(day, days);
+            if (found != Long.MIN_VALUE && Math.abs(found - day) <= searchLimitDays) {
+                return LocalDate.ofEpochDay(found);
+            }
+            if (span >= searchLimitDays) {
+                return null;
+            }
+            span = Math.min(span * 2, searchLimitDays);
+        }
+    }
+
+    private TradingDayIndex indexCovering(long fromDay, long toDay) {
+        TradingDayIndex current = index;
+        if (current != null
+                && current.closureVersion() == holidayCalendar.getClosureVersion()
+                && current.covers(fromDay, toDay)) {
+            return current;
+        }
+        return rebuildIndex(fromDay, toDay);
+    }
+
+    private synchronized TradingDayIndex rebuildIndex(long fromDay, long toDay) {
+        // Read the version before building: a change during the build forces another rebuild
+        long version = holidayCalendar.getClosureVersion();
+        TradingDayIndex current = index;
+        if (current != null && current.closureVersion() == version && current.covers(fromDay, toDay)) {
+            return current;
+        }
+
+        long first;
+        long last;
+        if (current != null && current.covers(fromDay, toDay)) {
+            first = current.firstDay();
+            last = current.lastDay();
+        } else {
+            first = (current == null ? fromDay : Math.min(fromDay, current.firstDay())) - INDEX_PADDING_DAYS;
+            last = (current == null ? toDay : Math.max(toDay, current.lastDay())) + INDEX_PADDING_DAYS;
+        }
+
+        TradingDayIndex rebuilt = TradingDayIndex.build(this, version, first, last);
+        index = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Immutable trading-day index over the calendar days {@code [firstDay, lastDay]}.
+     *
+     * @param cumulative   number of trading days in {@code [firstDay, firstDay + i]}
+     * @param tradingDays  epoch days of every trading day in the range, ascending
+     */
+    private record TradingDayIndex(long closureVersion, long firstDay, int[] cumulative, long[] tradingDays) {
+
+        static TradingDayIndex build(DefaultTradingCalendar calendar, long version, long firstDay, long lastDay) {
+            int length = (int) (lastDay - firstDay + 1);
+            int[] cumulative = new int[length];
+            long[] tradingDays = new long[length];
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                long day = firstDay + i;
+                if (calendar.getSession(LocalDate.ofEpochDay(day)).isTradingSession()) {
+                    tradingDays[count++] = day;
+                }
+                cumulative[i] = count;
             }
-            currentDate = currentDate.plusDays(1);
+            return new TradingDayIndex(version, firstDay, cumulative, Arrays.copyOf(tradingDays, count));
+        }
+
+        long lastDay() {
+            return firstDay + cumulative.length - 1;
+        }
+
+        boolean covers(long fromDay, long toDay) {
+            return fromDay >= firstDay && toDay <= lastDay();
+        }
+
+        int countThrough(long day) {
+            return cumulative[(int) (day - firstDay)];
+        }
+
+        boolean isTradingDay(long day) {
+            int i = (int) (day - firstDay);
+            return cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]) == 1;
+        }
+
+        /**
+         * Epoch day of the {@code days}-th trading day after/before {@code day}, or
+         * {@link Long#MIN_VALUE} if it lies outside the indexed range.
+         */
+        long offset(long day, int days) {
+            int through = countThrough(day);
+            int position = days > 0
+                ? through + days - 1
+                : through - (isTradingDay(day) ? 1 : 0) + days;
+            return position >= 0 && position < tradingDays.length ? tradingDays[position] : Long.MIN_VALUE;
         }
-        return tradingDays;
     }
 }
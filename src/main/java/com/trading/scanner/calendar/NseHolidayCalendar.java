@@ -2,20 +2,31 @@ package com.trading.scanner.calendar;
 
 import com.trading.scanner.model.EmergencyClosure;
 import com.trading.scanner.repository.EmergencyClosureRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Manages the holiday and special session calendar for the National Stock Exchange (NSE) of India.
  * This class holds static holiday data and supports dynamic, persistent marking of emergency closures.
+ *
+ * Emergency closures are loaded once at startup into an immutable snapshot that lookups read
+ * without touching the database. Marking or clearing a closure writes through to the database
+ * and swaps in a new snapshot; if the surrounding transaction rolls back, the change is undone.
  */
+@Slf4j
 @RequiredArgsConstructor
 public class NseHolidayCalendar {
 
@@ -102,6 +113,23 @@ public class NseHolidayCalendar {
 
     private final EmergencyClosureRepository emergencyClosureRepository;
 
+    /** Bumped whenever the closure set changes, so derived trading-day indexes can rebuild. */
+    private final AtomicLong closureVersion = new AtomicLong();
+
+    private volatile Set<LocalDate> emergencyClosures = Set.of();
+
+    /**
+     * Loads the persisted emergency closures into memory, replacing the current snapshot.
+     */
+    @PostConstruct
+    public synchronized void loadEmergencyClosures() {
+        emergencyClosures = emergencyClosureRepository.findAll().stream()
+            .map(EmergencyClosure::getDate)
+            .collect(Collectors.toUnmodifiableSet());
+        closureVersion.incrementAndGet();
+        log.info("Loaded {} emergency closures", emergencyClosures.size());
+    }
+
     /**
      * Checks if a given date is a scheduled public holiday.
      */
@@ -120,7 +148,14 @@ public class NseHolidayCalendar {
      * Checks if a given date was marked as an emergency closure in the database.
      */
     public boolean isEmergencyClosure(LocalDate date) {
-        return emergencyClosureRepository.existsByDate(date);
+        return emergencyClosures.contains(date);
+    }
+
+    /**
+     * Version of the emergency closure set. Changes after every mark or clear.
+     */
+    public long getClosureVersion() {
+        return closureVersion.get();
     }
 
     /**
@@ -141,6 +176,9 @@ public class NseHolidayCalendar {
             .createdAt(createdAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
             .build();
         emergencyClosureRepository.save(closure);
+        if (updateClosures(date, true)) {
+            undoOnRollback(date, false);
+        }
     }
 
     /**
@@ -148,5 +186,38 @@ public class NseHolidayCalendar {
      */
     public void clearEmergencyClosure(LocalDate date) {
         emergencyClosureRepository.deleteByDate(date);
+        if (updateClosures(date, false)) {
+            undoOnRollback(date, true);
+        }
+    }
+
+    /**
+     * Swaps in a snapshot with the date added or removed.
+     *
+     * @return true if the snapshot changed.
+     */
+    private synchronized boolean updateClosures(LocalDate date, boolean closed) {
+        Set<LocalDate> next = new HashSet<>(emergencyClosures);
+        boolean changed = closed ? next.add(date) : next.remove(date);
+        if (changed) {
+            emergencyClosures = Set.copyOf(next);
+            closureVersion.incrementAndGet();
+        }
+        return changed;
+    }
+
+    private void undoOnRollback(LocalDate date, boolean closed) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    updateClosures(date, closed);
+                    log.info("Reverted emergency closure change for {} after transaction rollback", date);
+                }
+            }
+        });
     }
 }
@@ -1,6 +1,8 @@
 package com.trading.scanner.calendar;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An interface for querying trading day information and performing calendar-aware date arithmetic.
@@ -49,6 +51,25 @@ public interface TradingCalendar {
      */
     LocalDate addTradingDays(LocalDate date, int days);
 
+    /**
+     * Lists the trading days following a date, so that element {@code h - 1} equals
+     * {@code addTradingDays(date, h)} for a trading-day {@code date}. Lets callers resolve a
+     * whole horizon grid with one walk of the calendar.
+     *
+     * @param date the starting date (exclusive).
+     * @param count the number of trading days to list.
+     * @return the first {@code count} trading days strictly after the given date, ascending.
+     */
+    default List<LocalDate> tradingDaysAfter(LocalDate date, int count) {
+        List<LocalDate> days = new ArrayList<>(count);
+        LocalDate current = date;
+        for (int i = 0; i < count; i++) {
+            current = nextTradingDay(current);
+            days.add(current);
+        }
+        return days;
+    }
+
     /**
      * Counts the number of trading days between two dates.
      * The count is exclusive of the start date and inclusive of the end date.
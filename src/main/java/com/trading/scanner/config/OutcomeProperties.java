@@ -0,0 +1,45 @@
+package com.trading.scanner.config;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Forward-return horizons, in trading days after the signal date.
+ *
+ * @param horizons horizons that get a {@code signal_outcomes} row each, with MFE/MAE.
+ * @param curveHorizon length of the per-signal return curve written to
+ *                     {@code signal_return_curves} (every horizon from 1 up to this); 0
+ *                     disables curves.
+ */
+@Validated
+@ConfigurationProperties(prefix = "outcomes")
+public record OutcomeProperties(
+    @NotEmpty List<@NotNull @Positive Integer> horizons,
+    @NotNull @PositiveOrZero Integer curveHorizon
+) {
+
+    /**
+     * The outcome horizons, ascending and without duplicates.
+     */
+    public int[] horizonArray() {
+        return horizons.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+    }
+
+    /**
+     * {@link #horizonArray()} as a list, e.g. for {@code IN (...)} query parameters.
+     */
+    public List<Integer> horizonList() {
+        return Arrays.stream(horizonArray()).boxed().toList();
+    }
+
+    public boolean curvesEnabled() {
+        return curveHorizon > 0;
+    }
+}
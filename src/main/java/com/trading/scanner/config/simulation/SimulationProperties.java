@@ -1,6 +1,7 @@
 package com.trading.scanner.config.simulation;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -17,4 +18,15 @@ public class SimulationProperties {
     @NotNull
     private LocalDate baseDate;
 
+    /** Directory holding named snapshots taken through /simulation/snapshots. */
+    private String snapshotDir = "data/sim-snapshots";
+
+    /** Cycles committed per transaction by /simulation/jobs advances. */
+    @Positive
+    private int jobCheckpointDays = 20;
+
+    /** Finished jobs kept for polling; older ones are dropped. */
+    @Positive
+    private int jobHistory = 20;
+
 }
@@ -0,0 +1,31 @@
+package com.trading.scanner.controller;
+
+import com.trading.scanner.service.backtest.ParameterSweepEngine;
+import com.trading.scanner.service.backtest.ParameterSweepResult;
+import com.trading.scanner.service.backtest.ParameterSweepSpec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Backtest Controller
+ *
+ * Runs read-only backtests over the stored price history; nothing is persisted.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/backtest")
+@RequiredArgsConstructor
+public class BacktestController {
+
+    private final ParameterSweepEngine parameterSweepEngine;
+
+    /**
+     * Evaluates every configuration of a breakout-rule parameter grid over a date range.
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<ParameterSweepResult> sweep(@RequestBody ParameterSweepSpec spec) {
+        return ResponseEntity.ok(parameterSweepEngine.sweep(spec));
+    }
+}
@@ -6,17 +6,27 @@ import com.trading.scanner.model.ScanExecutionState.ExecutionMode;
 import com.trading.scanner.repository.ScanResultRepository;
 import com.trading.scanner.repository.StockPriceRepository;
 import com.trading.scanner.repository.StockUniverseRepository;
+import com.trading.scanner.service.data.ConcurrentHistoricalIngestionService;
+import com.trading.scanner.service.data.ConcurrentHistoricalIngestionService.IngestionSummary;
 import com.trading.scanner.service.data.DataIngestionService;
+import com.trading.scanner.service.data.PriceSeriesStore;
+import com.trading.scanner.service.indicators.IncrementalIndicatorEngine;
 import com.trading.scanner.service.scanner.ScannerEngine;
+import com.trading.scanner.service.scanner.ScannerEngine.RangeScanSummary;
+import com.trading.scanner.service.scanner.trace.ScanTraceEntry;
+import com.trading.scanner.service.scanner.trace.ScanTraceRecorder;
 import com.trading.scanner.service.state.ExecutionStateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -25,7 +35,11 @@ import java.util.Map;
 public class DashboardController {
 
     private final DataIngestionService dataIngestionService;
+    private final ConcurrentHistoricalIngestionService concurrentHistoricalIngestionService;
     private final ScannerEngine scannerEngine;
+    private final ScanTraceRecorder scanTraceRecorder;
+    private final PriceSeriesStore priceSeriesStore;
+    private final IncrementalIndicatorEngine incrementalIndicatorEngine;
     private final ExecutionStateService executionStateService;
     private final StockUniverseRepository universeRepository;
     private final StockPriceRepository priceRepository;
@@ -57,7 +71,8 @@ public class DashboardController {
 
     @PostMapping("/ingest/historical")
     @ResponseBody
-    public Map<String, Object> ingestHistorical(@RequestParam(defaultValue = "5") int years) {
+    public Map<String, Object> ingestHistorical(@RequestParam(defaultValue = "5") int years,
+                                                @RequestParam(defaultValue = "false") boolean concurrent) {
         Map<String, Object> response = new HashMap<>();
 
         if (!config.isHistoricalReloadAllowed()) {
@@ -68,8 +83,19 @@ public class DashboardController {
         }
 
         try {
-            log.info("Starting historical data ingestion ({} years) - MANUAL trigger", years);
-            dataIngestionService.ingestHistoricalDataForUniverse(years);
+            log.info("Starting historical data ingestion ({} years, concurrent={}) - MANUAL trigger", years, concurrent);
+            if (concurrent) {
+                IngestionSummary summary = concurrentHistoricalIngestionService.ingestHistoricalDataForUniverse(years);
+                response.put("symbolsSucceeded", summary.succeeded());
+                response.put("symbolsFailed", summary.failed());
+                response.put("barsWritten", summary.barsWritten());
+                response.put("elapsedMs", summary.elapsedMs());
+            } else {
+                dataIngestionService.ingestHistoricalDataForUniverse(years);
+            }
+            // A reload may restate past bars, so the in-memory series and indicator state must be rebuilt
+            priceSeriesStore.invalidateAll();
+            incrementalIndicatorEngine.reset();
 
             response.put("success", true);
             response.put("message", "Historical data ingestion completed");
@@ -122,6 +148,43 @@ public class DashboardController {
         return response;
     }
 
+    @PostMapping("/scan/range")
+    @ResponseBody
+    public Map<String, Object> scanRange(@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                         @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            log.info("Starting range scan {}..{} - MANUAL trigger", from, to);
+            RangeScanSummary summary = scannerEngine.scanDateRange(from, to);
+
+            response.put("success", true);
+            response.put("datesScanned", summary.datesScanned());
+            response.put("symbols", summary.symbols());
+            response.put("signals", summary.signals());
+            response.put("elapsedMs", summary.elapsedMs());
+        } catch (Exception e) {
+            log.error("Range scan failed: {}", e.getMessage(), e);
+            response.put("success", false);
+            response.put("message", "Error: " + e.getMessage());
+        }
+
+        return response;
+    }
+
+    @GetMapping("/scan/trace")
+    @ResponseBody
+    public Map<String, Object> scanTrace(@RequestParam(required = false) String symbol,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+                                         @RequestParam(defaultValue = "500") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        List<ScanTraceEntry> entries = scanTraceRecorder.dump(symbol, date, Math.max(0, limit));
+        response.put("recorded", scanTraceRecorder.recorded());
+        response.put("returned", entries.size());
+        response.put("entries", entries);
+        return response;
+    }
+
     @GetMapping("/status")
     @ResponseBody
     public Map<String, Object> getStatus() {
@@ -5,6 +5,10 @@ import com.trading.scanner.model.SimulationState;
 import com.trading.scanner.repository.SimulationStateRepository;
 import com.trading.scanner.service.simulation.SimulationBatchResult;
 import com.trading.scanner.service.simulation.SimulationCycleService;
+import com.trading.scanner.service.simulation.SimulationJobService;
+import com.trading.scanner.service.simulation.SimulationJobStatus;
+import com.trading.scanner.service.simulation.SimulationSnapshot;
+import com.trading.scanner.service.simulation.SimulationSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
@@ -12,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,6 +35,8 @@ public class SimulationController {
     
     private final SimulationStateRepository simulationStateRepository;
     private final SimulationCycleService simulationCycleService;
+    private final SimulationSnapshotService simulationSnapshotService;
+    private final SimulationJobService simulationJobService;
     private final ExchangeClock exchangeClock;
     
     /**
@@ -58,6 +65,34 @@ public class SimulationController {
         return ResponseEntity.ok(result);
     }
     
+    /**
+     * Starts a background advance of N trading days, committed every {@code checkpointDays}
+     * cycles; poll {@code GET /simulation/jobs/{id}} for progress.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<SimulationJobStatus> submitJob(@RequestParam int days,
+                                                         @RequestParam(required = false) Integer checkpointDays) {
+        return ResponseEntity.accepted().body(simulationJobService.submit(days, checkpointDays));
+    }
+
+    @GetMapping("/jobs")
+    public List<SimulationJobStatus> listJobs() {
+        return simulationJobService.list();
+    }
+
+    @GetMapping("/jobs/{id}")
+    public SimulationJobStatus getJob(@PathVariable String id) {
+        return simulationJobService.get(id);
+    }
+
+    /**
+     * Stops a job after its current cycle; cycles already run are kept.
+     */
+    @PostMapping("/jobs/{id}/cancel")
+    public SimulationJobStatus cancelJob(@PathVariable String id) {
+        return simulationJobService.cancel(id);
+    }
+
     /**
      * Resets the simulation to the base date by clearing the trading offset.
      * This will fail if a cycle is in progress.
@@ -74,4 +109,52 @@ public class SimulationController {
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Lists saved snapshots, oldest first.
+     */
+    @GetMapping("/snapshots")
+    public List<SimulationSnapshot> listSnapshots() {
+        return simulationSnapshotService.list();
+    }
+
+    /**
+     * Saves the current simulation (database and indicator state) under a name.
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<SimulationSnapshot> createSnapshot(@RequestParam String name) {
+        return ResponseEntity.ok(simulationSnapshotService.create(name));
+    }
+
+    /**
+     * Replaces the current simulation with a saved snapshot; the next advance continues
+     * from the snapshot's day.
+     */
+    @PostMapping("/snapshots/{name}/restore")
+    public ResponseEntity<Map<String, Object>> restoreSnapshot(@PathVariable String name) {
+        long start = System.currentTimeMillis();
+        SimulationSnapshot snapshot = simulationSnapshotService.restore(name);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("snapshot", snapshot);
+        response.put("currentDate", exchangeClock.today().toString());
+        response.put("elapsedMs", System.currentTimeMillis() - start);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Copies a snapshot under a new name, to branch from the same point more than once.
+     */
+    @PostMapping("/snapshots/{name}/fork")
+    public ResponseEntity<SimulationSnapshot> forkSnapshot(@PathVariable String name, @RequestParam String target) {
+        return ResponseEntity.ok(simulationSnapshotService.fork(name, target));
+    }
+
+    @DeleteMapping("/snapshots/{name}")
+    public ResponseEntity<Void> deleteSnapshot(@PathVariable String name) {
+        simulationSnapshotService.delete(name);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,28 @@
+package com.trading.scanner.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Close-to-close forward returns of one signal for every horizon from 1 to
+ * {@code returns.length} trading days, stored as a single {@code signal_return_curves} row.
+ *
+ * {@code returns[h - 1]} is the return after {@code h} trading days, or {@code NaN} when
+ * the exit bar is missing.
+ */
+public record SignalReturnCurve(
+    Integer signalId,
+    double entryPrice,
+    double[] returns,
+    LocalDateTime computedAt
+) {
+
+    /**
+     * Return after {@code horizon} trading days, or null if it is missing or beyond the curve.
+     */
+    public Double returnAt(int horizon) {
+        if (horizon < 1 || horizon > returns.length || Double.isNaN(returns[horizon - 1])) {
+            return null;
+        }
+        return returns[horizon - 1];
+    }
+}
@@ -0,0 +1,9 @@
+package com.trading.scanner.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a {@link com.trading.scanner.model.ScanResult} carrying just
+ * what outcome computation needs, so eligibility queries do not hydrate full entities.
+ */
+public record SignalKey(Integer id, String symbol, LocalDate scanDate) {}
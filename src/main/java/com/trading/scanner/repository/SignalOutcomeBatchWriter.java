@@ -0,0 +1,112 @@
+package com.trading.scanner.repository;
+
+import com.trading.scanner.model.SignalOutcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * JDBC batch insert path for {@link SignalOutcome} rows.
+ *
+ * Runs on the caller's transaction. {@code ON CONFLICT DO NOTHING} keeps the append-only
+ * contract of the (signal_id, horizon_days) unique constraint: an outcome that already
+ * exists is never overwritten, and a duplicate does not fail the rest of the batch.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SignalOutcomeBatchWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO signal_outcomes " +
+        "(signal_id, horizon_days, entry_price, exit_price, forward_return, mfe, mae, computed_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT(signal_id, horizon_days) DO NOTHING";
+
+    // Same text format LocalDateTimeConverter writes through JPA
+    private static final DateTimeFormatter COMPUTED_AT_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all outcomes as one JDBC batch. If the batch fails as a whole, falls back to
+     * row-by-row inserts so a single bad row does not drop the others.
+     *
+     * @return the number of rows actually inserted (duplicates are not counted).
+     */
+    public int insertAll(List<SignalOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        try {
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, outcomes.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return outcomes.size();
+                }
+            });
+            int inserted = 0;
+            for (int count : counts) {
+                inserted += Math.max(count, 0);
+            }
+            return inserted;
+        } catch (DataAccessException e) {
+            log.warn("Outcome batch insert of {} rows failed, retrying row by row: {}", outcomes.size(), e.getMessage());
+            return insertIndividually(outcomes);
+        }
+    }
+
+    private int insertIndividually(List<SignalOutcome> outcomes) {
+        int inserted = 0;
+        for (SignalOutcome outcome : outcomes) {
+            try {
+                inserted += jdbcTemplate.update(INSERT_SQL,
+                    outcome.getSignalId(),
+                    outcome.getHorizonDays(),
+                    outcome.getEntryPrice(),
+                    outcome.getExitPrice(),
+                    outcome.getForwardReturn(),
+                    outcome.getMfe(),
+                    outcome.getMae(),
+                    outcome.getComputedAt().format(COMPUTED_AT_FORMAT));
+            } catch (DataAccessException e) {
+                log.error("Failed to insert outcome for signal {} horizon {}",
+                    outcome.getSignalId(), outcome.getHorizonDays(), e);
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, SignalOutcome outcome) throws SQLException {
+        ps.setInt(1, outcome.getSignalId());
+        ps.setInt(2, outcome.getHorizonDays());
+        ps.setDouble(3, outcome.getEntryPrice());
+        ps.setDouble(4, outcome.getExitPrice());
+        ps.setDouble(5, outcome.getForwardReturn());
+        setNullableDouble(ps, 6, outcome.getMfe());
+        setNullableDouble(ps, 7, outcome.getMae());
+        ps.setString(8, outcome.getComputedAt().format(COMPUTED_AT_FORMAT));
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.REAL);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,6 +34,28 @@ public interface SignalOutcomeRepository extends JpaRepository<SignalOutcome, In
     List<Integer> findEligibleSignalIds(@Param("horizon") Integer horizon, 
                                       @Param("cutoffDate") LocalDate cutoffDate);
     
+    /**
+     * Find signals that are old enough for at least the shortest horizon and are still
+     * missing the outcome of one or more of {@code horizons}, across all horizons at once.
+     * Only rows for those horizons count, so outcomes of horizons dropped from the
+     * configuration do not make a signal look complete
+     */
+    @Query("SELECT new com.trading.scanner.repository.SignalKey(sr.id, sr.symbol, sr.scanDate) " +
+           "FROM ScanResult sr " +
+           "WHERE sr.scanDate <= :cutoffDate " +
+           "AND (SELECT COUNT(so) FROM SignalOutcome so " +
+           "     WHERE so.signalId = sr.id AND so.horizonDays IN :horizons) < :horizonCount " +
+           "ORDER BY sr.id")
+    List<SignalKey> findSignalsMissingOutcomes(@Param("cutoffDate") LocalDate cutoffDate,
+                                               @Param("horizons") Collection<Integer> horizons,
+                                               @Param("horizonCount") long horizonCount);
+
+    /**
+     * Existing (signalId, horizonDays) pairs for the given signals
+     */
+    @Query("SELECT so.signalId, so.horizonDays FROM SignalOutcome so WHERE so.signalId IN :signalIds")
+    List<Object[]> findHorizonsBySignalIds(@Param("signalIds") Collection<Integer> signalIds);
+
     /**
      * Count outcomes by horizon
      */
@@ -0,0 +1,117 @@
+package com.trading.scanner.repository;
+
+import com.trading.scanner.model.SignalReturnCurve;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code signal_return_curves}, one row per signal.
+ *
+ * The curve is a BLOB of little-endian doubles, one per horizon, with {@code NaN} for a
+ * missing exit bar; 60 horizons take 480 bytes instead of 60 {@code signal_outcomes} rows.
+ * Inserts are append-only like the outcome writer: an existing curve is never replaced.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SignalReturnCurveRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO signal_return_curves (signal_id, entry_price, horizon_count, returns, computed_at) " +
+        "VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT(signal_id) DO NOTHING";
+
+    private static final String SELECT_SQL =
+        "SELECT signal_id, entry_price, returns, computed_at FROM signal_return_curves WHERE signal_id = ?";
+
+    private static final String MISSING_SQL =
+        "SELECT sr.id, sr.symbol, sr.scan_date FROM scan_results sr " +
+        "LEFT JOIN signal_return_curves c ON c.signal_id = sr.id " +
+        "WHERE c.signal_id IS NULL ORDER BY sr.id";
+
+    // Same text formats the JPA converters write
+    private static final DateTimeFormatter COMPUTED_AT_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all curves as one JDBC batch.
+     *
+     * @return the number of rows actually inserted (existing curves are not counted).
+     */
+    public int insertAll(List<SignalReturnCurve> curves) {
+        if (curves.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SignalReturnCurve curve = curves.get(i);
+                ps.setInt(1, curve.signalId());
+                ps.setDouble(2, curve.entryPrice());
+                ps.setInt(3, curve.returns().length);
+                ps.setBytes(4, encode(curve.returns()));
+                ps.setString(5, curve.computedAt().format(COMPUTED_AT_FORMAT));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return curves.size();
+            }
+        });
+        int inserted = 0;
+        for (int count : counts) {
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+
+    public Optional<SignalReturnCurve> findBySignalId(int signalId) {
+        List<SignalReturnCurve> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new SignalReturnCurve(
+            rs.getInt("signal_id"),
+            rs.getDouble("entry_price"),
+            decode(rs.getBytes("returns")),
+            LocalDateTime.parse(rs.getString("computed_at"), COMPUTED_AT_FORMAT)
+        ), signalId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Signals that have no return curve yet, in id order.
+     */
+    public List<SignalKey> findSignalsMissingCurves() {
+        return jdbcTemplate.query(MISSING_SQL, (rs, rowNum) -> new SignalKey(
+            rs.getInt(1),
+            rs.getString(2),
+            LocalDate.parse(rs.getString(3))
+        ));
+    }
+
+    private static byte[] encode(double[] returns) {
+        ByteBuffer buffer = ByteBuffer.allocate(returns.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (double value : returns) {
+            buffer.putDouble(value);
+        }
+        return buffer.array();
+    }
+
+    private static double[] decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        double[] returns = new double[bytes.length / Double.BYTES];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = buffer.getDouble();
+        }
+        return returns;
+    }
+}
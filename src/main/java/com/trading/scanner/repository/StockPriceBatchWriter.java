@@ -0,0 +1,110 @@
+package com.trading.scanner.repository;
+
+import com.trading.scanner.model.StockPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Bulk upsert path for {@code stock_prices}.
+ *
+ * JPA inserts with {@code GenerationType.IDENTITY} cannot be batched, so bulk loads go
+ * through prepared-statement batches instead. Rows are written in chunks of
+ * {@code ingestion.batch.chunkSize}, one transaction per chunk (or joined to the caller's
+ * transaction if there is one). An existing (symbol, date) row is updated in place.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockPriceBatchWriter {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO stock_prices " +
+        "(symbol, date, open_price, high_price, low_price, close_price, adj_close, volume) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT(symbol, date) DO UPDATE SET " +
+        "open_price = excluded.open_price, " +
+        "high_price = excluded.high_price, " +
+        "low_price = excluded.low_price, " +
+        "close_price = excluded.close_price, " +
+        "adj_close = excluded.adj_close, " +
+        "volume = excluded.volume";
+
+    // Same text format LocalDateConverter writes through JPA
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ingestion.batch.chunkSize:5000}")
+    private int chunkSize;
+
+    /**
+     * Inserts or updates all bars.
+     *
+     * @return the number of rows written.
+     */
+    public int upsertAll(List<StockPrice> prices) {
+        int size = Math.max(1, chunkSize);
+        int written = 0;
+        for (int from = 0; from < prices.size(); from += size) {
+            List<StockPrice> chunk = prices.subList(from, Math.min(from + size, prices.size()));
+            Integer count = transactionTemplate.execute(status -> upsertChunk(chunk));
+            written += count == null ? 0 : count;
+        }
+        return written;
+    }
+
+    private int upsertChunk(List<StockPrice> chunk) {
+        int[] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, chunk.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+        int written = 0;
+        for (int count : counts) {
+            // SUCCESS_NO_INFO (-2) still means the row was written
+            written += count == 0 ? 0 : 1;
+        }
+        return written;
+    }
+
+    private static void bind(PreparedStatement ps, StockPrice price) throws SQLException {
+        ps.setString(1, price.getSymbol());
+        ps.setString(2, price.getDate().format(DATE_FORMAT));
+        setNullableDouble(ps, 3, price.getOpenPrice());
+        setNullableDouble(ps, 4, price.getHighPrice());
+        setNullableDouble(ps, 5, price.getLowPrice());
+        setNullableDouble(ps, 6, price.getClosePrice());
+        setNullableDouble(ps, 7, price.getAdjClose());
+        if (price.getVolume() == null) {
+            ps.setNull(8, Types.INTEGER);
+        } else {
+            ps.setInt(8, price.getVolume());
+        }
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.REAL);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
@@ -33,6 +33,11 @@ public interface StockPriceRepository extends JpaRepository<StockPrice, Long> {
     
     @Query("SELECT COUNT(sp) FROM StockPrice sp")
     long countAll();
+
+    long countBySymbol(String symbol);
+
+    @Query("SELECT MAX(sp.date) FROM StockPrice sp")
+    LocalDate findLatestDate();
     
     @Query("SELECT sp FROM StockPrice sp WHERE sp.symbol = :symbol ORDER BY sp.date DESC LIMIT 1")
     StockPrice findLatestBySymbol(@Param("symbol") String symbol);
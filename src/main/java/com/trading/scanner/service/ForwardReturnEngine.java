@@ -1,25 +1,56 @@
 package com.trading.scanner.service;
 
 import com.trading.scanner.calendar.TradingCalendar;
+import com.trading.scanner.config.OutcomeProperties;
 import com.trading.scanner.model.ScanResult;
 import com.trading.scanner.model.SignalOutcome;
+import com.trading.scanner.model.SignalReturnCurve;
 import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.repository.SignalKey;
+import com.trading.scanner.repository.SignalOutcomeBatchWriter;
 import com.trading.scanner.repository.SignalOutcomeRepository;
+import com.trading.scanner.repository.SignalReturnCurveRepository;
 import com.trading.scanner.repository.StockPriceRepository;
 import com.trading.scanner.repository.ScanResultRepository;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.data.PriceSeriesStore;
+import com.trading.scanner.service.metrics.ScannerMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Forward Return Engine - Deterministic outcome computation
  * 
- * Computes forward returns for fixed horizons {5, 10, 20}
+ * Computes forward returns for the configured horizons ({@code outcomes.horizons}),
+ * together with the maximum favourable (MFE) and adverse (MAE) excursion of the highs/lows
+ * between entry and exit
  * Append-only, idempotent, transaction-bound
+ *
+ * In batched mode ({@code outcomes.batch.enabled}) all horizons are handled in one pass:
+ * a single query finds every signal still missing an outcome, closes are read from the
+ * in-memory {@link PriceSeriesStore}, and new rows go out as one JDBC batch. The exit bars
+ * of all of a signal's horizons are located with one walk of the calendar
+ * ({@link TradingCalendar#tradingDaysAfter}) and one forward pass over the bars after entry.
+ *
+ * When the {@link PendingOutcomeQueue} is enabled, the batched path takes its candidates
+ * from the queue instead of that query: only pairs maturing by the current date are
+ * touched, and pairs whose exit bar is still missing are requeued for the next cycle
+ * (or dropped once that bar can no longer arrive). The queue also drives return curves
+ * ({@code outcomes.curve-horizon}): once a signal's last curve horizon matures, its
+ * returns for every horizon from 1 up to it are written as a single
+ * {@code signal_return_curves} row, with NaN for horizons that have no bar.
  */
 @Slf4j
 @Service
@@ -30,9 +61,21 @@ public class ForwardReturnEngine {
     private final SignalOutcomeRepository signalOutcomeRepository;
     private final StockPriceRepository stockPriceRepository;
     private final TradingCalendar tradingCalendar;
-    
-    // Hardcoded horizons for v1.9
-    private static final int[] HORIZONS = {5, 10, 20};
+    private final PriceSeriesStore priceSeriesStore;
+    private final SignalOutcomeBatchWriter outcomeBatchWriter;
+    private final SignalReturnCurveRepository returnCurveRepository;
+    private final ScannerMetrics metrics;
+    private final PendingOutcomeQueue pendingOutcomeQueue;
+    private final OutcomeProperties outcomeProperties;
+
+    // Keeps IN (...) lists well below SQLite's bound-parameter limit
+    static final int ID_CHUNK_SIZE = 500;
+
+    @Value("${outcomes.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${outcomes.queue.retryDays:5}")
+    private int retryDays;
     
     /**
      * Compute eligible outcomes for current simulation date
@@ -40,12 +83,342 @@ public class ForwardReturnEngine {
      */
     public void computeEligibleOutcomes(LocalDate currentSimulationDate) {
         log.debug("Computing forward outcomes for simulation date: {}", currentSimulationDate);
+
+        if (batchEnabled && pendingOutcomeQueue.isEnabled()) {
+            computeDueOutcomes(currentSimulationDate);
+            return;
+        }
+        if (batchEnabled) {
+            computeEligibleOutcomesBatched(currentSimulationDate);
+            return;
+        }
         
-        for (int horizon : HORIZONS) {
+        for (int horizon : outcomeProperties.horizonArray()) {
             computeOutcomesForHorizon(currentSimulationDate, horizon);
         }
     }
     
+    private void computeEligibleOutcomesBatched(LocalDate currentDate) {
+        int[] horizons = outcomeProperties.horizonArray();
+        LocalDate[] cutoffs = cutoffs(currentDate, horizons);
+        // Horizons are ascending, so the shortest one has the latest cutoff
+        LocalDate latestCutoff = cutoffs[0];
+
+        List<SignalKey> candidates = signalOutcomeRepository.findSignalsMissingOutcomes(
+            latestCutoff, outcomeProperties.horizonList(), horizons.length);
+        if (candidates.isEmpty()) {
+            log.trace("No eligible signals on date {}", currentDate);
+            return;
+        }
+
+        Map<Integer, Set<Integer>> existingHorizons = loadExistingHorizons(candidates);
+        LocalDateTime computedAt = currentDate.atStartOfDay();
+        List<SignalOutcome> outcomes = new ArrayList<>();
+
+        for (SignalKey signal : candidates) {
+            try {
+                collectOutcomes(signal, horizons, cutoffs, existingHorizons.getOrDefault(signal.id(), Set.of()),
+                    currentDate, computedAt, outcomes);
+            } catch (Exception e) {
+                log.error("Failed to compute outcomes for signal {}", signal.id(), e);
+                // Continue processing other signals - don't fail entire batch
+            }
+        }
+
+        int inserted = outcomeBatchWriter.insertAll(outcomes);
+        metrics.recordOutcomeBatch(candidates.size(), inserted);
+        log.debug("Batched outcomes for {}: {} candidate signals, {} computed, {} inserted",
+                 currentDate, candidates.size(), outcomes.size(), inserted);
+    }
+
+    /**
+     * Queue-driven variant of {@link #computeEligibleOutcomesBatched}: same outcomes, but
+     * the candidates are the pairs the queue reports due instead of a scan of all signals.
+     */
+    private void computeDueOutcomes(LocalDate currentDate) {
+        List<PendingOutcomeQueue.PendingOutcome> due = pendingOutcomeQueue.pollDue(currentDate);
+        if (due.isEmpty()) {
+            log.trace("No due outcomes on date {}", currentDate);
+            return;
+        }
+
+        int[] horizons = outcomeProperties.horizonArray();
+        LocalDate[] cutoffs = cutoffs(currentDate, horizons);
+        LocalDateTime computedAt = currentDate.atStartOfDay();
+        List<PendingOutcomeQueue.PendingOutcome> retry = new ArrayList<>();
+        List<PendingOutcomeQueue.PendingOutcome> dropped = new ArrayList<>();
+
+        // Group the due horizons by signal so each signal's bars are scanned once
+        Map<Integer, List<PendingOutcomeQueue.PendingOutcome>> bySignal = new LinkedHashMap<>();
+        List<SignalReturnCurve> curves = new ArrayList<>();
+        for (PendingOutcomeQueue.PendingOutcome pending : due) {
+            if (!pending.curve()) {
+                bySignal.computeIfAbsent(pending.signal().id(), id -> new ArrayList<>()).add(pending);
+                continue;
+            }
+            SignalKey signal = pending.signal();
+            try {
+                PriceSeries series = priceSeriesStore.getSeriesThrough(signal.symbol(), currentDate);
+                int entryIndex = series.indexOf(signal.scanDate());
+                if (entryIndex < 0 || Double.isNaN(series.close(entryIndex))) {
+                    // Signals are scanned from the entry bar, so it will not show up later
+                    log.info("Dropping return curve for signal {} ({} on {}): no entry price",
+                        signal.id(), signal.symbol(), signal.scanDate());
+                    dropped.add(pending);
+                    continue;
+                }
+                SignalReturnCurve curve = computeCurve(signal, series, entryIndex, pending.horizonDays(),
+                    currentDate, computedAt);
+                if (curve != null) {
+                    curves.add(curve);
+                } else {
+                    retry.add(pending);
+                }
+            } catch (Exception e) {
+                log.error("Failed to compute return curve for signal {}", signal.id(), e);
+                // Do not touch the store or calendar again for a signal that just failed there
+                retry.add(pending);
+            }
+        }
+
+        List<SignalOutcome> outcomes = new ArrayList<>();
+        for (List<PendingOutcomeQueue.PendingOutcome> pairs : bySignal.values()) {
+            SignalKey signal = pairs.get(0).signal();
+            Set<Integer> skip = new HashSet<>();
+            for (int horizon : horizons) {
+                skip.add(horizon);
+            }
+            for (PendingOutcomeQueue.PendingOutcome pending : pairs) {
+                skip.remove(pending.horizonDays());
+            }
+
+            int before = outcomes.size();
+            try {
+                collectOutcomes(signal, horizons, cutoffs, skip, currentDate, computedAt, outcomes);
+            } catch (Exception e) {
+                log.error("Failed to compute outcomes for signal {}", signal.id(), e);
+                // Continue processing other signals - don't fail entire batch
+                outcomes.subList(before, outcomes.size()).clear();
+                retry.addAll(pairs);
+                continue;
+            }
+            Set<Integer> computed = new HashSet<>();
+            for (SignalOutcome outcome : outcomes.subList(before, outcomes.size())) {
+                computed.add(outcome.getHorizonDays());
+            }
+            for (PendingOutcomeQueue.PendingOutcome pending : pairs) {
+                if (!computed.contains(pending.horizonDays())) {
+                    retryOrDrop(pending, currentDate, retry, dropped);
+                }
+            }
+        }
+        if (!retry.isEmpty()) {
+            pendingOutcomeQueue.requeue(retry, currentDate);
+        }
+
+        int inserted = outcomeBatchWriter.insertAll(outcomes);
+        int curvesInserted = returnCurveRepository.insertAll(curves);
+        metrics.recordOutcomeBatch(bySignal.size(), inserted);
+        log.debug("Queued outcomes for {}: {} due, {} outcomes and {} curves computed, {} and {} inserted, {} requeued, {} dropped",
+                 currentDate, due.size(), outcomes.size(), curves.size(), inserted, curvesInserted, retry.size(),
+                 dropped.size());
+    }
+
+    /**
+     * Sorts a due pair that could not be computed: it is retried on the next cycle unless
+     * its bar can no longer arrive, i.e. the symbol's bars already run past the exit date,
+     * or the exit date is more than {@code outcomes.queue.retryDays} trading days behind
+     * (a halted or delisted symbol). Dropped pairs are logged once and stay out of the
+     * queue until its next rebuild, so dead pairs do not add to the cost of every cycle.
+     * If the check itself fails, the pair is simply retried.
+     */
+    private void retryOrDrop(PendingOutcomeQueue.PendingOutcome pending, LocalDate currentDate,
+                             List<PendingOutcomeQueue.PendingOutcome> retry,
+                             List<PendingOutcomeQueue.PendingOutcome> dropped) {
+        SignalKey signal = pending.signal();
+        try {
+            LocalDate exitDate = tradingCalendar.addTradingDays(signal.scanDate(), pending.horizonDays());
+            PriceSeries series = priceSeriesStore.getSeriesThrough(signal.symbol(), currentDate);
+            if (series.lastEpochDay() > exitDate.toEpochDay()
+                    || tradingCalendar.addTradingDays(exitDate, retryDays).isBefore(currentDate)) {
+                log.info("Dropping {} for signal {} ({} on {}): no price bar for {}",
+                    pending.curve() ? "return curve" : pending.horizonDays() + "d outcome",
+                    signal.id(), signal.symbol(), signal.scanDate(), exitDate);
+                dropped.add(pending);
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Failed to check pending outcome of signal {}", signal.id(), e);
+        }
+        retry.add(pending);
+    }
+
+    private LocalDate[] cutoffs(LocalDate currentDate, int[] horizons) {
+        // Cutoff per horizon: signals where scan_date <= currentDate - horizon
+        LocalDate[] cutoffs = new LocalDate[horizons.length];
+        for (int i = 0; i < horizons.length; i++) {
+            cutoffs[i] = tradingCalendar.addTradingDays(currentDate, -horizons[i]);
+        }
+        return cutoffs;
+    }
+
+    private Map<Integer, Set<Integer>> loadExistingHorizons(List<SignalKey> candidates) {
+        Map<Integer, Set<Integer>> existing = new HashMap<>();
+        for (int from = 0; from < candidates.size(); from += ID_CHUNK_SIZE) {
+            List<Integer> ids = new ArrayList<>(ID_CHUNK_SIZE);
+            for (SignalKey signal : candidates.subList(from, Math.min(from + ID_CHUNK_SIZE, candidates.size()))) {
+                ids.add(signal.id());
+            }
+            for (Object[] row : signalOutcomeRepository.findHorizonsBySignalIds(ids)) {
+                existing.computeIfAbsent((Integer) row[0], id -> new HashSet<>()).add((Integer) row[1]);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Adds the outcomes of every horizon the signal is due for and does not have yet.
+     * Same entry/exit rules as {@link #computeOutcome}, read from the price store.
+     *
+     * Exit bars of all due horizons come from one calendar walk to the furthest horizon
+     * and one forward pass over the bars after entry; MFE/MAE come from one forward scan of
+     * the high/low columns up to the furthest exit, checkpointed at each horizon's exit bar.
+     */
+    private void collectOutcomes(SignalKey signal, int[] horizons, LocalDate[] cutoffs, Set<Integer> doneHorizons,
+                                 LocalDate currentDate, LocalDateTime computedAt, List<SignalOutcome> outcomes) {
+        int furthest = 0;
+        for (int i = 0; i < horizons.length; i++) {
+            if (!signal.scanDate().isAfter(cutoffs[i]) && !doneHorizons.contains(horizons[i])) {
+                furthest = horizons[i];
+            }
+        }
+        if (furthest == 0) {
+            return;
+        }
+
+        PriceSeries series = priceSeriesStore.getSeriesThrough(signal.symbol(), currentDate);
+
+        // Entry price = close price on signal date
+        int entryIndex = series.indexOf(signal.scanDate());
+        if (entryIndex < 0 || Double.isNaN(series.close(entryIndex))) {
+            log.trace("Missing entry price for signal {} on {}", signal.id(), signal.scanDate());
+            return;
+        }
+        double entry = series.close(entryIndex);
+
+        // Exit price = close price on signal date + horizon trading days
+        List<LocalDate> exitDates = tradingCalendar.tradingDaysAfter(signal.scanDate(), furthest);
+        int[] bars = locateBars(series, entryIndex, exitDates);
+
+        int[] exitIndexes = new int[horizons.length];
+        int lastExitIndex = -1;
+        for (int i = 0; i < horizons.length; i++) {
+            exitIndexes[i] = -1;
+            int horizon = horizons[i];
+            if (horizon > furthest || signal.scanDate().isAfter(cutoffs[i]) || doneHorizons.contains(horizon)) {
+                continue;
+            }
+
+            int exitIndex = bars[horizon - 1];
+            if (exitIndex < 0 || Double.isNaN(series.close(exitIndex))) {
+                log.trace("Missing exit price for signal {} on {}", signal.id(), exitDates.get(horizon - 1));
+                continue;
+            }
+            exitIndexes[i] = exitIndex;
+            lastExitIndex = Math.max(lastExitIndex, exitIndex);
+        }
+        if (lastExitIndex < 0) {
+            return;
+        }
+
+        Double[] mfe = new Double[horizons.length];
+        Double[] mae = new Double[horizons.length];
+        double maxHigh = Double.NaN;
+        double minLow = Double.NaN;
+        for (int bar = entryIndex + 1; bar <= lastExitIndex; bar++) {
+            double high = series.high(bar);
+            double low = series.low(bar);
+            if (!Double.isNaN(high) && !(high <= maxHigh)) {
+                maxHigh = high;
+            }
+            if (!Double.isNaN(low) && !(low >= minLow)) {
+                minLow = low;
+            }
+            for (int i = 0; i < horizons.length; i++) {
+                if (exitIndexes[i] == bar) {
+                    mfe[i] = excursion(maxHigh, entry);
+                    mae[i] = excursion(minLow, entry);
+                }
+            }
+        }
+
+        for (int i = 0; i < horizons.length; i++) {
+            if (exitIndexes[i] < 0) {
+                continue;
+            }
+            double exit = series.close(exitIndexes[i]);
+            outcomes.add(SignalOutcome.builder()
+                .signalId(signal.id())
+                .horizonDays(horizons[i])
+                .entryPrice(entry)
+                .exitPrice(exit)
+                .forwardReturn((exit - entry) / entry)
+                .mfe(mfe[i])
+                .mae(mae[i])
+                .computedAt(computedAt)
+                .build());
+        }
+    }
+
+    /**
+     * Returns for every horizon from 1 to {@code length}, from the same calendar walk and
+     * forward pass as {@link #collectOutcomes}; a horizon whose exit close is missing is
+     * NaN. Null while the last horizon's bar is missing but can still arrive (the current
+     * date has not moved past it), so the curve is retried on a later cycle; after that the
+     * curve is written with NaN there as well.
+     */
+    private SignalReturnCurve computeCurve(SignalKey signal, PriceSeries series, int entryIndex, int length,
+                                           LocalDate currentDate, LocalDateTime computedAt) {
+        double entry = series.close(entryIndex);
+
+        List<LocalDate> exitDates = tradingCalendar.tradingDaysAfter(signal.scanDate(), length);
+        int[] bars = locateBars(series, entryIndex, exitDates);
+        if (bars[length - 1] < 0 && !currentDate.isAfter(exitDates.get(length - 1))) {
+            return null;
+        }
+        double[] returns = new double[length];
+        for (int h = 0; h < length; h++) {
+            double exit = bars[h] < 0 ? Double.NaN : series.close(bars[h]);
+            returns[h] = Double.isNaN(exit) ? Double.NaN : (exit - entry) / entry;
+        }
+        return new SignalReturnCurve(signal.id(), entry, returns, computedAt);
+    }
+
+    /**
+     * Index of the bar on each of {@code dates} (ascending, after the entry bar), or -1 where
+     * the series has none; one forward pass over the bars after {@code entryIndex}.
+     */
+    private static int[] locateBars(PriceSeries series, int entryIndex, List<LocalDate> dates) {
+        int[] bars = new int[dates.size()];
+        int bar = entryIndex + 1;
+        for (int k = 0; k < bars.length; k++) {
+            int day = (int) dates.get(k).toEpochDay();
+            while (bar < series.size() && series.epochDay(bar) < day) {
+                bar++;
+            }
+            bars[k] = bar < series.size() && series.epochDay(bar) == day ? bar : -1;
+        }
+        return bars;
+    }
+
+    /**
+     * Excursion of an extreme price relative to the entry close, or null if the window
+     * had no usable high/low.
+     */
+    private static Double excursion(double extreme, double entry) {
+        return Double.isNaN(extreme) ? null : (extreme - entry) / entry;
+    }
+    
     private void computeOutcomesForHorizon(LocalDate currentDate, int horizon) {
         // Calculate cutoff date: signals where scan_date <= currentDate - horizon
         LocalDate cutoffDate = tradingCalendar.addTradingDays(currentDate, -horizon);
@@ -107,6 +480,19 @@ public class ForwardReturnEngine {
         Double entry = entryPrice.getClosePrice();
         Double exit = exitPrice.getClosePrice();
         Double forwardReturn = (exit - entry) / entry;
+
+        // Path extremes over the bars after entry up to and including exit
+        double maxHigh = Double.NaN;
+        double minLow = Double.NaN;
+        for (StockPrice bar : stockPriceRepository.findBySymbolAndDateBetweenOrderByDateAsc(
+                signal.getSymbol(), signal.getScanDate().plusDays(1), exitDate)) {
+            if (bar.getHighPrice() != null && !(bar.getHighPrice() <= maxHigh)) {
+                maxHigh = bar.getHighPrice();
+            }
+            if (bar.getLowPrice() != null && !(bar.getLowPrice() >= minLow)) {
+                minLow = bar.getLowPrice();
+            }
+        }
         
         // Create outcome record
         SignalOutcome outcome = SignalOutcome.builder()
@@ -115,6 +501,8 @@ public class ForwardReturnEngine {
             .entryPrice(entry)
             .exitPrice(exit)
             .forwardReturn(forwardReturn)
+            .mfe(excursion(maxHigh, entry))
+            .mae(excursion(minLow, entry))
             .computedAt(currentDate.atStartOfDay())
             .build();
         
@@ -0,0 +1,223 @@
+package com.trading.scanner.service;
+
+import com.trading.scanner.calendar.TradingCalendar;
+import com.trading.scanner.config.OutcomeProperties;
+import com.trading.scanner.model.ScanResult;
+import com.trading.scanner.repository.SignalKey;
+import com.trading.scanner.repository.SignalOutcomeRepository;
+import com.trading.scanner.repository.SignalReturnCurveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory work queue of signal outcomes that are not computed yet, keyed by the trading
+ * date on which each (signal, horizon) pair matures. A signal's return curve, when enabled,
+ * is one more entry that matures with the curve's last horizon.
+ *
+ * Replaces the per-cycle eligibility queries over all of {@code scan_results}: the
+ * scanner enqueues every new signal's horizons as it persists them, and the forward-return
+ * engine polls only the pairs due on or before the current date, so a cycle costs
+ * O(due pairs) instead of growing with the signal history.
+ *
+ * The queue is rebuilt from the database at startup (and after anything that replaces the
+ * database). Changes made inside a transaction are journalled and undone if it rolls
+ * back, so the queue never holds signals that were never committed nor loses pairs whose
+ * outcomes were never written. Disabled with {@code outcomes.queue.enabled=false}, in which
+ * case the engine falls back to the eligibility queries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingOutcomeQueue {
+
+    /** Upper bound for the startup query, later than any scan date. */
+    private static final LocalDate REBUILD_CUTOFF = LocalDate.of(9999, 12, 31);
+
+    private final SignalOutcomeRepository signalOutcomeRepository;
+    private final SignalReturnCurveRepository signalReturnCurveRepository;
+    private final TradingCalendar tradingCalendar;
+    private final OutcomeProperties outcomeProperties;
+
+    private final NavigableMap<LocalDate, List<PendingOutcome>> byDueDate = new TreeMap<>();
+    private int size;
+
+    @Value("${outcomes.queue.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * One (signal, horizon) pair waiting for its outcome, or with {@code curve} set, a
+     * signal waiting for its return curve of {@code horizonDays} horizons.
+     */
+    public record PendingOutcome(SignalKey signal, int horizonDays, LocalDate dueDate, boolean curve) {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reloads the queue with every (signal, horizon) pair that has no outcome yet, and every
+     * signal without a return curve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        int[] horizons = outcomeProperties.horizonArray();
+        long start = System.currentTimeMillis();
+        byDueDate.clear();
+        size = 0;
+
+        List<SignalKey> signals = signalOutcomeRepository.findSignalsMissingOutcomes(
+            REBUILD_CUTOFF, outcomeProperties.horizonList(), horizons.length);
+        Map<Integer, Set<Integer>> existing = new HashMap<>();
+        for (int from = 0; from < signals.size(); from += ForwardReturnEngine.ID_CHUNK_SIZE) {
+            List<Integer> ids = new ArrayList<>();
+            for (SignalKey signal : signals.subList(from, Math.min(from + ForwardReturnEngine.ID_CHUNK_SIZE, signals.size()))) {
+                ids.add(signal.id());
+            }
+            for (Object[] row : signalOutcomeRepository.findHorizonsBySignalIds(ids)) {
+                existing.computeIfAbsent((Integer) row[0], id -> new HashSet<>()).add((Integer) row[1]);
+            }
+        }
+
+        for (SignalKey signal : signals) {
+            Set<Integer> done = existing.getOrDefault(signal.id(), Set.of());
+            for (int horizon : horizons) {
+                if (!done.contains(horizon)) {
+                    add(pending(signal, horizon, false));
+                }
+            }
+        }
+        if (outcomeProperties.curvesEnabled()) {
+            for (SignalKey signal : signalReturnCurveRepository.findSignalsMissingCurves()) {
+                add(pending(signal, outcomeProperties.curveHorizon(), true));
+            }
+        }
+        log.info("Pending outcome queue rebuilt: {} pairs for {} signals in {} ms",
+            size, signals.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Enqueues every horizon of freshly persisted signals; they must already have ids.
+     */
+    public synchronized void enqueue(List<ScanResult> results) {
+        if (!enabled || results.isEmpty()) {
+            return;
+        }
+        int[] horizons = outcomeProperties.horizonArray();
+        List<PendingOutcome> added = new ArrayList<>(results.size() * (horizons.length + 1));
+        for (ScanResult result : results) {
+            SignalKey signal = new SignalKey(result.getId(), result.getSymbol(), result.getScanDate());
+            for (int horizon : horizons) {
+                added.add(pending(signal, horizon, false));
+            }
+            if (outcomeProperties.curvesEnabled()) {
+                added.add(pending(signal, outcomeProperties.curveHorizon(), true));
+            }
+        }
+        added.forEach(this::add);
+        journal(() -> added.forEach(this::removeEntry));
+    }
+
+    /**
+     * Removes and returns every pair due on or before {@code date}, oldest due date first.
+     */
+    public synchronized List<PendingOutcome> pollDue(LocalDate date) {
+        NavigableMap<LocalDate, List<PendingOutcome>> due = byDueDate.headMap(date, true);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        List<PendingOutcome> polled = new ArrayList<>();
+        due.values().forEach(polled::addAll);
+        due.clear();
+        size -= polled.size();
+        journal(() -> polled.forEach(this::add));
+        return polled;
+    }
+
+    /**
+     * Puts pairs back (e.g. their exit bar is not available yet) so the next poll on or
+     * after {@code retryOn} returns them again.
+     */
+    public synchronized void requeue(List<PendingOutcome> pending, LocalDate retryOn) {
+        List<PendingOutcome> retried = new ArrayList<>(pending.size());
+        for (PendingOutcome item : pending) {
+            PendingOutcome retry = new PendingOutcome(item.signal(), item.horizonDays(), retryOn, item.curve());
+            add(retry);
+            retried.add(retry);
+        }
+        journal(() -> retried.forEach(this::removeEntry));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private PendingOutcome pending(SignalKey signal, int horizon, boolean curve) {
+        return new PendingOutcome(signal, horizon, tradingCalendar.addTradingDays(signal.scanDate(), horizon), curve);
+    }
+
+    private void add(PendingOutcome pending) {
+        byDueDate.computeIfAbsent(pending.dueDate(), date -> new ArrayList<>()).add(pending);
+        size++;
+    }
+
+    private void removeEntry(PendingOutcome pending) {
+        List<PendingOutcome> bucket = byDueDate.get(pending.dueDate());
+        if (bucket != null && bucket.remove(pending)) {
+            size--;
+            if (bucket.isEmpty()) {
+                byDueDate.remove(pending.dueDate());
+            }
+        }
+    }
+
+    /**
+     * Registers an undo action for the current transaction, run (in reverse order of
+     * registration) only if it does not commit.
+     */
+    @SuppressWarnings("unchecked")
+    private void journal(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Runnable> undos = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undos == null) {
+            List<Runnable> actions = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, actions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PendingOutcomeQueue.this);
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (PendingOutcomeQueue.this) {
+                            for (int i = actions.size() - 1; i >= 0; i--) {
+                                actions.get(i).run();
+                            }
+                        }
+                        log.info("Pending outcome queue restored after transaction rollback");
+                    }
+                }
+            });
+            undos = actions;
+        }
+        undos.add(undo);
+    }
+}
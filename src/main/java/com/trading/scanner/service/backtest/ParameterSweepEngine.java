@@ -0,0 +1,386 @@
+package com.trading.scanner.service.backtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.scanner.calendar.TradingCalendar;
+import com.trading.scanner.config.BreakoutRuleProperties;
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.model.StockUniverse;
+import com.trading.scanner.repository.StockPriceRepository;
+import com.trading.scanner.repository.StockUniverseRepository;
+import com.trading.scanner.service.backtest.ParameterSweepResult.Configuration;
+import com.trading.scanner.service.backtest.ParameterSweepResult.HorizonSummary;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.data.PriceSeriesStore;
+import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.indicators.IndicatorService;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import com.trading.scanner.service.scanner.rules.BreakoutConfirmedRule;
+import com.trading.scanner.service.scanner.rules.RuleEvaluation;
+import com.trading.scanner.service.scanner.trace.ScanTraceRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Backtests many {@link BreakoutRuleProperties} configurations in one pass over the price
+ * history.
+ *
+ * Every configuration is replayed on every bar dated in the sweep range, with the same
+ * pre-filter, indicator and match logic as {@link BreakoutConfirmedRule}. Configurations
+ * are grouped by indicator periods, so a symbol/date's indicators are computed once per
+ * group and shared by all configurations in it. Symbols are evaluated in parallel on a
+ * dedicated pool; each task accumulates its own statistics, merged at the end.
+ *
+ * Forward returns use the same entry/exit rules as the forward-return engine: close on
+ * the signal date to close {@code horizon} trading days later, skipped when either bar is
+ * missing. Nothing is persisted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParameterSweepEngine {
+
+    private static final List<Integer> DEFAULT_HORIZONS = List.of(5, 10, 20);
+
+    private final BreakoutRuleProperties baseProperties;
+    private final StockUniverseRepository universeRepository;
+    private final PriceSeriesStore priceSeriesStore;
+    private final IndicatorService indicatorService;
+    private final TradingCalendar tradingCalendar;
+    private final StockPriceRepository priceRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${backtest.sweep.maxConfigurations:500}")
+    private int maxConfigurations;
+
+    @Value("${backtest.sweep.parallelism:0}")
+    private int parallelism;
+
+    public ParameterSweepResult sweep(ParameterSweepSpec spec) {
+        if (spec.from() == null || spec.to() == null || spec.from().isAfter(spec.to())) {
+            throw new IllegalArgumentException("Sweep needs from <= to, got " + spec.from() + ".." + spec.to());
+        }
+        long start = System.currentTimeMillis();
+        List<Integer> horizons = spec.horizons() == null || spec.horizons().isEmpty()
+            ? DEFAULT_HORIZONS : List.copyOf(spec.horizons());
+        for (Integer horizon : horizons) {
+            if (horizon == null || horizon <= 0) {
+                throw new IllegalArgumentException("Horizons must be positive, got " + horizons);
+            }
+        }
+
+        List<Map<String, Number>> points = expandGrid(spec);
+        List<BreakoutConfirmedRule> rules = new ArrayList<>(points.size());
+        Map<IndicatorParameters, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < points.size(); i++) {
+            BreakoutRuleProperties properties = withOverrides(baseProperties, points.get(i));
+            rules.add(new BreakoutConfirmedRule(objectMapper, properties, ScanTraceRecorder.disabled()));
+            IndicatorParameters periods = new IndicatorParameters(properties.rsiPeriod(),
+                properties.smaShortPeriod(), properties.smaMediumPeriod(), properties.smaLongPeriod());
+            groups.computeIfAbsent(periods, key -> new ArrayList<>()).add(i);
+        }
+
+        // Series come from the store on this thread; the tasks below only read them. They
+        // only need to reach the furthest exit date, and never past the last ingested bar
+        int maxHorizon = horizons.stream().max(Integer::compare).orElseThrow();
+        LocalDate through = tradingCalendar.addTradingDays(spec.to(), maxHorizon);
+        LocalDate latest = priceRepository.findLatestDate();
+        if (latest != null && latest.isBefore(through)) {
+            through = latest;
+        }
+        List<PriceSeries> universe = new ArrayList<>();
+        for (StockUniverse stock : universeRepository.findByIsActiveTrue()) {
+            universe.add(priceSeriesStore.getSeriesThrough(stock.getSymbol(), through));
+        }
+
+        log.info("Parameter sweep {}..{}: {} configurations in {} indicator groups over {} symbols",
+            spec.from(), spec.to(), points.size(), groups.size(), universe.size());
+
+        SweepContext context = new SweepContext(spec.from(), spec.to(), horizons, rules, groups);
+        Stats[] totals = Stats.array(points.size(), horizons.size());
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<Stats[]>> futures = new ArrayList<>(universe.size());
+            for (PriceSeries series : universe) {
+                futures.add(pool.submit(() -> evaluateSymbol(series, context)));
+            }
+            for (Future<Stats[]> future : futures) {
+                Stats[] partial = future.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i].merge(partial[i]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameter sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parameter sweep failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Configuration> configurations = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            configurations.add(totals[i].toConfiguration(i, points.get(i), horizons));
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Parameter sweep complete: {} configurations in {} ms", points.size(), elapsed);
+        return new ParameterSweepResult(universe.size(), groups.size(), elapsed, configurations);
+    }
+
+    private Stats[] evaluateSymbol(PriceSeries series, SweepContext context) {
+        Stats[] stats = Stats.array(context.rules().size(), context.horizons().size());
+        String symbol = series.getSymbol();
+        int firstEnd = series.endIndexThrough(context.from().minusDays(1)) + 1;
+        int lastEnd = series.endIndexThrough(context.to());
+        double[] returns = new double[context.horizons().size()];
+
+        for (Map.Entry<IndicatorParameters, List<Integer>> group : context.groups().entrySet()) {
+            for (int end = firstEnd; end <= lastEnd; end++) {
+                IndicatorBundle indicators = null;
+                List<StockPrice> prices = null;
+                boolean returnsResolved = false;
+
+                for (int index : group.getValue()) {
+                    BreakoutConfirmedRule rule = context.rules().get(index);
+                    if (!rule.preFilter(symbol, series, end)) {
+                        continue;
+                    }
+                    if (indicators == null) {
+                        indicators = indicatorService.calculateIndicators(series, end, group.getKey());
+                        prices = series.asStockPrices(end);
+                    }
+                    RuleEvaluation evaluation = rule.evaluate(symbol, prices, indicators);
+                    if (!evaluation.matched()) {
+                        continue;
+                    }
+                    if (!returnsResolved) {
+                        forwardReturns(series, end - 1, context.horizons(), returns);
+                        returnsResolved = true;
+                    }
+                    stats[index].addSignal(returns);
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Close-to-close returns from bar {@code entryIndex} for each horizon, NaN where the
+     * entry or exit close is missing.
+     */
+    private void forwardReturns(PriceSeries series, int entryIndex, List<Integer> horizons, double[] returns) {
+        double entry = series.close(entryIndex);
+        LocalDate signalDate = series.date(entryIndex);
+        for (int i = 0; i < horizons.size(); i++) {
+            returns[i] = Double.NaN;
+            if (Double.isNaN(entry)) {
+                continue;
+            }
+            int exitIndex = series.indexOf(tradingCalendar.addTradingDays(signalDate, horizons.get(i)));
+            if (exitIndex >= 0 && !Double.isNaN(series.close(exitIndex))) {
+                returns[i] = (series.close(exitIndex) - entry) / entry;
+            }
+        }
+    }
+
+    /**
+     * The full grid, or {@code samples} distinct random points of it.
+     */
+    private List<Map<String, Number>> expandGrid(ParameterSweepSpec spec) {
+        Map<String, List<Number>> grid = spec.grid() == null ? Map.of() : spec.grid();
+        List<String> names = new ArrayList<>(grid.keySet());
+        long size = 1;
+        for (String name : names) {
+            List<Number> values = grid.get(name);
+            if (values == null || values.isEmpty()) {
+                throw new IllegalArgumentException("No values given for " + name);
+            }
+            size = Math.multiplyExact(size, values.size());
+        }
+
+        if (spec.samples() != null && (spec.samples() < 1 || spec.samples() > maxConfigurations)) {
+            throw new IllegalArgumentException("samples must be between 1 and "
+                + "backtest.sweep.maxConfigurations=" + maxConfigurations + ", got " + spec.samples());
+        }
+
+        List<int[]> choices = new ArrayList<>();
+        if (spec.samples() != null && spec.samples() < size) {
+            Random random = new Random(spec.seed() == null ? 0L : spec.seed());
+            Set<List<Integer>> seen = new LinkedHashSet<>();
+            while (seen.size() < spec.samples()) {
+                List<Integer> choice = new ArrayList<>(names.size());
+                for (String name : names) {
+                    choice.add(random.nextInt(grid.get(name).size()));
+                }
+                seen.add(choice);
+            }
+            for (List<Integer> choice : seen) {
+                choices.add(choice.stream().mapToInt(Integer::intValue).toArray());
+            }
+        } else {
+            if (size > maxConfigurations) {
+                throw new IllegalArgumentException("Grid has " + size + " configurations, more than "
+                    + "backtest.sweep.maxConfigurations=" + maxConfigurations + "; use samples");
+            }
+            int[] choice = new int[names.size()];
+            for (long n = 0; n < size; n++) {
+                choices.add(choice.clone());
+                for (int d = names.size() - 1; d >= 0; d--) {
+                    if (++choice[d] < grid.get(names.get(d)).size()) {
+                        break;
+                    }
+                    choice[d] = 0;
+                }
+            }
+        }
+        if (choices.size() > maxConfigurations) {
+            throw new IllegalArgumentException("Sweep of " + choices.size() + " configurations exceeds "
+                + "backtest.sweep.maxConfigurations=" + maxConfigurations);
+        }
+
+        List<Map<String, Number>> points = new ArrayList<>(choices.size());
+        for (int[] choice : choices) {
+            Map<String, Number> point = new LinkedHashMap<>();
+            for (int d = 0; d < names.size(); d++) {
+                point.put(names.get(d), grid.get(names.get(d)).get(choice[d]));
+            }
+            points.add(point);
+        }
+        return points;
+    }
+
+    /**
+     * A copy of {@code base} with the named properties replaced. Lookback and periods must
+     * be positive whole numbers, thresholds finite.
+     */
+    static BreakoutRuleProperties withOverrides(BreakoutRuleProperties base, Map<String, Number> overrides) {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("lookbackWindow", base.lookbackWindow());
+        values.put("rsiPeriod", base.rsiPeriod());
+        values.put("smaShortPeriod", base.smaShortPeriod());
+        values.put("smaMediumPeriod", base.smaMediumPeriod());
+        values.put("smaLongPeriod", base.smaLongPeriod());
+        values.put("rsiThresholdMatch", base.rsiThresholdMatch());
+        values.put("volumeMultiplierMatch", base.volumeMultiplierMatch());
+        values.put("rsiThresholdConfidence", base.rsiThresholdConfidence());
+        values.put("volumeMultiplierConfidence", base.volumeMultiplierConfidence());
+        values.put("baseConfidence", base.baseConfidence());
+        values.put("confidenceIncrement", base.confidenceIncrement());
+        values.put("maxConfidenceCap", base.maxConfidenceCap());
+        values.put("maxGap", base.maxGap());
+
+        for (Map.Entry<String, Number> override : overrides.entrySet()) {
+            if (!values.containsKey(override.getKey())) {
+                throw new IllegalArgumentException("Unknown breakout rule property: " + override.getKey());
+            }
+            values.put(override.getKey(), validated(override.getKey(), override.getValue()));
+        }
+
+        return new BreakoutRuleProperties(
+            values.get("lookbackWindow").intValue(),
+            values.get("rsiPeriod").intValue(),
+            values.get("smaShortPeriod").intValue(),
+            values.get("smaMediumPeriod").intValue(),
+            values.get("smaLongPeriod").intValue(),
+            values.get("rsiThresholdMatch").doubleValue(),
+            values.get("volumeMultiplierMatch").doubleValue(),
+            values.get("rsiThresholdConfidence").doubleValue(),
+            values.get("volumeMultiplierConfidence").doubleValue(),
+            values.get("baseConfidence").doubleValue(),
+            values.get("confidenceIncrement").doubleValue(),
+            values.get("maxConfidenceCap").doubleValue(),
+            values.get("maxGap").doubleValue()
+        );
+    }
+
+    private static Number validated(String name, Number value) {
+        if (value == null || !Double.isFinite(value.doubleValue())) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+        }
+        boolean integral = name.equals("lookbackWindow") || name.endsWith("Period");
+        if (integral && (value.doubleValue() < 1 || value.doubleValue() != Math.rint(value.doubleValue()))) {
+            throw new IllegalArgumentException(name + " must be a positive whole number, got " + value);
+        }
+        return value;
+    }
+
+    private record SweepContext(
+        LocalDate from,
+        LocalDate to,
+        List<Integer> horizons,
+        List<BreakoutConfirmedRule> rules,
+        Map<IndicatorParameters, List<Integer>> groups
+    ) {}
+
+    /**
+     * Signal count and per-horizon return accumulators for one configuration.
+     */
+    private static final class Stats {
+        private long signals;
+        private final long[] outcomes;
+        private final long[] wins;
+        private final double[] returnSums;
+
+        private Stats(int horizons) {
+            this.outcomes = new long[horizons];
+            this.wins = new long[horizons];
+            this.returnSums = new double[horizons];
+        }
+
+        static Stats[] array(int configurations, int horizons) {
+            Stats[] stats = new Stats[configurations];
+            for (int i = 0; i < configurations; i++) {
+                stats[i] = new Stats(horizons);
+            }
+            return stats;
+        }
+
+        void addSignal(double[] returns) {
+            signals++;
+            for (int h = 0; h < returns.length; h++) {
+                if (Double.isNaN(returns[h])) {
+                    continue;
+                }
+                outcomes[h]++;
+                returnSums[h] += returns[h];
+                if (returns[h] > 0) {
+                    wins[h]++;
+                }
+            }
+        }
+
+        void merge(Stats other) {
+            signals += other.signals;
+            for (int h = 0; h < outcomes.length; h++) {
+                outcomes[h] += other.outcomes[h];
+                wins[h] += other.wins[h];
+                returnSums[h] += other.returnSums[h];
+            }
+        }
+
+        Configuration toConfiguration(int index, Map<String, Number> parameters, List<Integer> horizons) {
+            Map<Integer, HorizonSummary> summaries = new LinkedHashMap<>();
+            for (int h = 0; h < horizons.size(); h++) {
+                summaries.put(horizons.get(h), outcomes[h] == 0
+                    ? new HorizonSummary(0, null, null)
+                    : new HorizonSummary(outcomes[h], returnSums[h] / outcomes[h], (double) wins[h] / outcomes[h]));
+            }
+            return new Configuration(index, parameters, signals, summaries);
+        }
+    }
+}
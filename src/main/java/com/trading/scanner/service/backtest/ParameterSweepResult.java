@@ -0,0 +1,32 @@
+package com.trading.scanner.service.backtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-configuration signal counts and forward-return summaries of a parameter sweep.
+ */
+public record ParameterSweepResult(
+    int symbols,
+    int indicatorGroups,
+    long elapsedMs,
+    List<Configuration> configurations
+) {
+
+    /**
+     * @param parameters only the swept values of this configuration
+     */
+    public record Configuration(
+        int index,
+        Map<String, Number> parameters,
+        long signals,
+        Map<Integer, HorizonSummary> horizons
+    ) {}
+
+    /**
+     * @param outcomes   signals whose exit bar exists in the history
+     * @param meanReturn mean close-to-close forward return, null without outcomes
+     * @param hitRate    fraction of outcomes with a positive return, null without outcomes
+     */
+    public record HorizonSummary(long outcomes, Double meanReturn, Double hitRate) {}
+}
@@ -0,0 +1,24 @@
+package com.trading.scanner.service.backtest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What to sweep: the scan dates to replay and, per {@code BreakoutRuleProperties} field,
+ * the values to try. Fields not in {@code grid} keep their configured value.
+ *
+ * @param grid     candidate values per property name, e.g. {@code {"maxGap": [0.03, 0.05]}}
+ * @param samples  if set and smaller than the grid, evaluate this many distinct random
+ *                 points of the grid instead of all of it
+ * @param seed     seed for {@code samples}, so a sampled sweep can be repeated
+ * @param horizons forward-return horizons in trading days; defaults to 5, 10 and 20
+ */
+public record ParameterSweepSpec(
+    LocalDate from,
+    LocalDate to,
+    Map<String, List<Number>> grid,
+    Integer samples,
+    Long seed,
+    List<Integer> horizons
+) {}
@@ -0,0 +1,197 @@
+package com.trading.scanner.service.data;
+
+import com.trading.scanner.config.ExchangeConfiguration;
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.model.StockUniverse;
+import com.trading.scanner.repository.StockPriceBatchWriter;
+import com.trading.scanner.repository.StockUniverseRepository;
+import com.trading.scanner.service.indicators.IncrementalIndicatorEngine;
+import com.trading.scanner.service.metrics.ScannerMetrics;
+import com.trading.scanner.service.provider.ProviderRetryService;
+import com.trading.scanner.service.provider.ProviderRetryService.ProviderResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent bulk historical ingestion.
+ *
+ * Up to {@code ingestion.concurrent.maxInFlight} provider requests are outstanding at a time,
+ * sent asynchronously and paced per host by the provider's rate limiter. Fetched bars are
+ * handed to a single writer thread through a bounded queue, so the database still sees one
+ * writer at a time. A full queue holds back the in-flight permits, which stops new requests
+ * from being issued until the writer catches up.
+ *
+ * Bars are written through {@link StockPriceBatchWriter}, so a reload restates any bar that
+ * already exists for the same symbol and date.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConcurrentHistoricalIngestionService {
+
+    private static final SymbolBatch END_OF_STREAM = new SymbolBatch(null, List.of());
+
+    private final StockUniverseRepository universeRepository;
+    private final StockPriceBatchWriter priceBatchWriter;
+    private final PriceSeriesStore priceSeriesStore;
+    private final IncrementalIndicatorEngine incrementalIndicatorEngine;
+    private final ProviderRetryService providerRetryService;
+    private final ExchangeConfiguration config;
+    private final ScannerMetrics metrics;
+
+    @Value("${ingestion.concurrent.maxInFlight:8}")
+    private int maxInFlight;
+
+    @Value("${ingestion.concurrent.queueCapacity:32}")
+    private int queueCapacity;
+
+    public record IngestionSummary(int symbols, int succeeded, int failed, long barsWritten, long elapsedMs) {}
+
+    private record SymbolBatch(String symbol, List<StockPrice> prices) {}
+
+    public IngestionSummary ingestHistoricalDataForUniverse(int years) {
+        long started = System.currentTimeMillis();
+        List<StockUniverse> stocks = universeRepository.findByIsActiveTrue();
+        LocalDate endDate = config.getSafeFetchEndDate();
+        LocalDate startDate = endDate.minusYears(years);
+
+        log.info("Concurrent historical ingestion: {} symbols, {} to {} (maxInFlight={})",
+            stocks.size(), startDate, endDate, maxInFlight);
+
+        BlockingQueue<SymbolBatch> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        AtomicInteger failed = new AtomicInteger();
+        BatchWriter writer = new BatchWriter(queue);
+        Thread writerThread = Thread.ofPlatform().name("historical-ingest-writer").start(writer);
+
+        List<CompletableFuture<Void>> fetches = new ArrayList<>(stocks.size());
+        try {
+            for (StockUniverse stock : stocks) {
+                inFlight.acquire();
+                CompletableFuture<Void> fetch = providerRetryService
+                    .fetchHistoricalDataAsyncWithRetry(stock, startDate, endDate)
+                    .thenAccept(result -> handleResult(stock, result, queue, failed))
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            failed.incrementAndGet();
+                            log.error("Historical fetch failed for {}: {}", stock.getSymbol(), error.getMessage());
+                        }
+                        inFlight.release();
+                    });
+                fetches.add(fetch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Concurrent historical ingestion interrupted after {} symbols", fetches.size());
+        } finally {
+            // Every issued fetch must have handed over its bars before the writer is told to stop
+            CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            enqueue(queue, END_OF_STREAM);
+            joinUninterruptibly(writerThread);
+        }
+
+        IngestionSummary summary = new IngestionSummary(stocks.size(), writer.succeeded.get(),
+            failed.get() + writer.failed.get(), writer.barsWritten.get(), System.currentTimeMillis() - started);
+        log.info("Concurrent historical ingestion complete: {}", summary);
+        return summary;
+    }
+
+    private void handleResult(StockUniverse stock, ProviderResult<List<StockPrice>> result,
+                              BlockingQueue<SymbolBatch> queue, AtomicInteger failed) {
+        if (result.isSuccess()) {
+            // Blocks the completing thread while the queue is full, holding its in-flight permit
+            enqueue(queue, new SymbolBatch(stock.getSymbol(), result.getData()));
+        } else if (result.isCircuitOpen()) {
+            failed.incrementAndGet();
+            log.warn("Skipped {}: provider circuit breaker is open", stock.getSymbol());
+        } else {
+            failed.incrementAndGet();
+            log.warn("Failed to fetch history for {}: {}", stock.getSymbol(),
+                result.getException() != null ? result.getException().getMessage() : "unknown error");
+        }
+    }
+
+    private static void enqueue(BlockingQueue<SymbolBatch> queue, SymbolBatch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Single consumer that persists one symbol at a time; a failing symbol does not affect
+     * the others.
+     */
+    private final class BatchWriter implements Runnable {
+
+        private final BlockingQueue<SymbolBatch> queue;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong barsWritten = new AtomicLong();
+
+        private BatchWriter(BlockingQueue<SymbolBatch> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SymbolBatch batch;
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    // Keep draining: producers rely on the writer until END_OF_STREAM arrives
+                    continue;
+                }
+                if (batch == END_OF_STREAM) {
+                    return;
+                }
+                try {
+                    int written = priceBatchWriter.upsertAll(batch.prices());
+                    barsWritten.addAndGet(written);
+                    metrics.recordBarsIngested(written);
+                    priceSeriesStore.invalidate(batch.symbol());
+                    incrementalIndicatorEngine.invalidate(batch.symbol());
+                    succeeded.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.error("Failed to persist history for {}: {}", batch.symbol(), e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.trading.scanner.service.data;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary copy of each symbol's price history, used by {@link PriceSeriesStore}
+ * as its cold-load source in place of the {@code stock_prices} entity query.
+ *
+ * One file per symbol: a 16-byte header followed by fixed-width 56-byte little-endian
+ * records (epoch day, 4 bytes padding, open, high, low, close, adjClose, volume), sorted by
+ * epoch day. Because records are fixed-width and sorted, the record number is the
+ * epoch-day index: a bar is located by position, and the bar count follows from the file
+ * size. Missing values keep the {@link PriceSeries} sentinels ({@code NaN} and
+ * {@link PriceSeries#NO_VOLUME}).
+ *
+ * Reads map the file and decode it straight into a series' columns. Newer bars are
+ * appended in place; anything else (a restated or back-filled bar) rewrites the file
+ * through a temporary file and an atomic move. A file that fails validation is deleted,
+ * and the symbol falls back to the database.
+ *
+ * The archive is a cache of committed rows, never a source of truth: the store only writes
+ * to it after the transaction that produced the bars commits, and drops a symbol's file
+ * whenever it drops the symbol.
+ */
+@Slf4j
+@Component
+public class PriceArchive {
+
+    private static final int MAGIC = 0x50415231; // "PAR1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 56;
+    private static final String SUFFIX = ".bars";
+
+    @Value("${scanner.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scanner.archive.dir:data/price-archive}")
+    private String directory;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The archived series, or null when the archive is disabled or holds nothing usable
+     * for the symbol.
+     */
+    public synchronized PriceSeries read(String symbol) {
+        if (!enabled) {
+            return null;
+        }
+        Path path = path(symbol);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes < HEADER_BYTES) {
+                return discard(symbol, "truncated header");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return discard(symbol, "unrecognised format");
+            }
+
+            int size = (int) ((bytes - HEADER_BYTES) / RECORD_BYTES);
+            int capacity = PriceSeries.capacityFor(size);
+            int[] epochDays = new int[capacity];
+            double[] open = new double[capacity];
+            double[] high = new double[capacity];
+            double[] low = new double[capacity];
+            double[] close = new double[capacity];
+            double[] adjClose = new double[capacity];
+            long[] volume = new long[capacity];
+
+            int previous = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                int offset = HEADER_BYTES + i * RECORD_BYTES;
+                int epochDay = buffer.getInt(offset);
+                if (epochDay <= previous) {
+                    return discard(symbol, "records out of order at " + i);
+                }
+                previous = epochDay;
+                epochDays[i] = epochDay;
+                open[i] = buffer.getDouble(offset + 8);
+                high[i] = buffer.getDouble(offset + 16);
+                low[i] = buffer.getDouble(offset + 24);
+                close[i] = buffer.getDouble(offset + 32);
+                adjClose[i] = buffer.getDouble(offset + 40);
+                volume[i] = buffer.getLong(offset + 48);
+            }
+            return PriceSeries.ofColumns(symbol, size, epochDays, open, high, low, close, adjClose, volume);
+        } catch (IOException e) {
+            return discard(symbol, e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the symbol's archive with the whole series.
+     */
+    public synchronized void write(PriceSeries series) {
+        if (!enabled) {
+            return;
+        }
+        Path path = path(series.getSymbol());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putLong(0L).flip();
+                writeFully(channel, header);
+                writeRecords(channel, series, 0);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to archive {}: {}", series.getSymbol(), e.getMessage());
+            delete(series.getSymbol());
+        }
+    }
+
+    /**
+     * Appends bars {@code [from, size)} of the series. Falls back to {@link #write} when
+     * the archive does not hold exactly the first {@code from} bars' worth of records.
+     */
+    public synchronized void append(PriceSeries series, int from) {
+        if (!enabled || from >= series.size()) {
+            return;
+        }
+        Path path = path(series.getSymbol());
+        if (from == 0 || !Files.exists(path)) {
+            write(series);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            long archived = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            if (archived != from) {
+                channel.close();
+                write(series);
+                return;
+            }
+            // Drop any partial record left by an interrupted append
+            long end = HEADER_BYTES + archived * RECORD_BYTES;
+            channel.truncate(end);
+            channel.position(end);
+            writeRecords(channel, series, from);
+        } catch (IOException e) {
+            log.warn("Failed to append to archive of {}: {}", series.getSymbol(), e.getMessage());
+            delete(series.getSymbol());
+        }
+    }
+
+    public synchronized void delete(String symbol) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path(symbol));
+        } catch (IOException e) {
+            log.warn("Failed to delete archive of {}: {}", symbol, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes every archived symbol, e.g. after a historical reload rewrote past bars.
+     */
+    public synchronized void clear() {
+        if (!enabled || !Files.isDirectory(Path.of(directory))) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(Path.of(directory))) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+            log.info("Price archive cleared");
+        } catch (IOException e) {
+            log.warn("Failed to clear price archive {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void writeRecords(FileChannel channel, PriceSeries series, int from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = from; i < series.size(); i++) {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.flip();
+                writeFully(channel, buffer);
+                buffer.clear();
+            }
+            buffer.putInt(series.epochDay(i)).putInt(0)
+                .putDouble(series.open(i)).putDouble(series.high(i)).putDouble(series.low(i))
+                .putDouble(series.close(i)).putDouble(series.adjClose(i)).putLong(series.volume(i));
+        }
+        buffer.flip();
+        writeFully(channel, buffer);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private PriceSeries discard(String symbol, String reason) {
+        log.warn("Discarding price archive of {}: {}", symbol, reason);
+        delete(symbol);
+        return null;
+    }
+
+    /**
+     * File for a symbol; characters outside {@code [A-Za-z0-9._-]} are hex-escaped so every
+     * ticker maps to a distinct, portable file name.
+     */
+    private Path path(String symbol) {
+        StringBuilder name = new StringBuilder(symbol.length() + SUFFIX.length());
+        for (byte b : symbol.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '_') {
+                name.append(c);
+            } else {
+                name.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        return Path.of(directory).resolve(name.append(SUFFIX).toString());
+    }
+}
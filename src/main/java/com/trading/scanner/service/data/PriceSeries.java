@@ -0,0 +1,266 @@
+package com.trading.scanner.service.data;
+
+import com.trading.scanner.model.StockPrice;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * Columnar OHLCV history for a single symbol.
+ *
+ * Bars are held in ascending epoch-day order in primitive columns. Missing prices are
+ * stored as {@code NaN} and a missing volume as {@link #NO_VOLUME}, so every read maps
+ * back to exactly the nullable value the {@link StockPrice} row carried.
+ *
+ * Instances are immutable from a reader's point of view: {@link #append(List)} returns a
+ * new series and never changes the bars visible through this one. Appends of newer bars
+ * reuse spare column capacity, so the store must only append to the latest instance.
+ */
+public final class PriceSeries {
+
+    /** Sentinel for a bar without a volume value. */
+    public static final long NO_VOLUME = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final String symbol;
+    private final int size;
+    private final int[] epochDays;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] adjClose;
+    private final long[] volume;
+
+    private PriceSeries(String symbol, int size, int[] epochDays, double[] open, double[] high,
+                        double[] low, double[] close, double[] adjClose, long[] volume) {
+        this.symbol = symbol;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.adjClose = adjClose;
+        this.volume = volume;
+    }
+
+    /**
+     * Builds a series from bars that are already sorted by date ascending.
+     */
+    public static PriceSeries of(String symbol, List<StockPrice> bars) {
+        int capacity = capacityFor(bars.size());
+        PriceSeries series = new PriceSeries(symbol, 0, new int[capacity], new double[capacity],
+            new double[capacity], new double[capacity], new double[capacity], new double[capacity],
+            new long[capacity]);
+        for (int i = 0; i < bars.size(); i++) {
+            series.write(i, bars.get(i));
+        }
+        return series.withSize(bars.size());
+    }
+
+    public static PriceSeries empty(String symbol) {
+        return of(symbol, List.of());
+    }
+
+    /**
+     * Wraps columns that were filled elsewhere (see {@link PriceArchive}); arrays must be
+     * at least {@code size} long, and any extra length is used as append capacity.
+     */
+    static PriceSeries ofColumns(String symbol, int size, int[] epochDays, double[] open, double[] high,
+                                 double[] low, double[] close, double[] adjClose, long[] volume) {
+        return new PriceSeries(symbol, size, epochDays, open, high, low, close, adjClose, volume);
+    }
+
+    /** Column length for a series of {@code bars} bars, leaving room for appends. */
+    static int capacityFor(int bars) {
+        return Math.max(MIN_CAPACITY, bars + (bars >> 3));
+    }
+
+    /**
+     * Returns a series that also contains the given bars (sorted ascending).
+     * Bars newer than the last bar are appended in place of spare capacity; anything
+     * else (a restated or back-filled date) falls back to a full copy-on-write merge.
+     */
+    PriceSeries append(List<StockPrice> bars) {
+        if (bars.isEmpty()) {
+            return this;
+        }
+        int last = size == 0 ? Integer.MIN_VALUE : epochDays[size - 1];
+        if ((int) bars.get(0).getDate().toEpochDay() <= last) {
+            return merge(bars);
+        }
+
+        PriceSeries target = this;
+        int required = size + bars.size();
+        if (required > epochDays.length) {
+            target = copyWithCapacity(Math.max(required, epochDays.length + (epochDays.length >> 1)));
+        }
+        for (int i = 0; i < bars.size(); i++) {
+            target.write(size + i, bars.get(i));
+        }
+        return target.withSize(required);
+    }
+
+    private PriceSeries merge(List<StockPrice> bars) {
+        TreeMap<Integer, StockPrice> merged = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            merged.put(epochDays[i], toStockPrice(i));
+        }
+        for (StockPrice bar : bars) {
+            merged.put((int) bar.getDate().toEpochDay(), bar);
+        }
+        return of(symbol, new ArrayList<>(merged.values()));
+    }
+
+    private void write(int index, StockPrice bar) {
+        epochDays[index] = (int) bar.getDate().toEpochDay();
+        open[index] = toColumn(bar.getOpenPrice());
+        high[index] = toColumn(bar.getHighPrice());
+        low[index] = toColumn(bar.getLowPrice());
+        close[index] = toColumn(bar.getClosePrice());
+        adjClose[index] = toColumn(bar.getAdjClose());
+        volume[index] = bar.getVolume() == null ? NO_VOLUME : bar.getVolume();
+    }
+
+    private PriceSeries withSize(int newSize) {
+        return new PriceSeries(symbol, newSize, epochDays, open, high, low, close, adjClose, volume);
+    }
+
+    private PriceSeries copyWithCapacity(int capacity) {
+        return new PriceSeries(symbol, size,
+            Arrays.copyOf(epochDays, capacity), Arrays.copyOf(open, capacity),
+            Arrays.copyOf(high, capacity), Arrays.copyOf(low, capacity),
+            Arrays.copyOf(close, capacity), Arrays.copyOf(adjClose, capacity),
+            Arrays.copyOf(volume, capacity));
+    }
+
+    private static double toColumn(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Double fromColumn(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /** Epoch day of the newest bar, or {@link Integer#MIN_VALUE} for an empty series. */
+    public int lastEpochDay() {
+        return size == 0 ? Integer.MIN_VALUE : epochDays[size - 1];
+    }
+
+    public double open(int index) {
+        return open[index];
+    }
+
+    public double high(int index) {
+        return high[index];
+    }
+
+    public double low(int index) {
+        return low[index];
+    }
+
+    public double close(int index) {
+        return close[index];
+    }
+
+    public double adjClose(int index) {
+        return adjClose[index];
+    }
+
+    public long volume(int index) {
+        return volume[index];
+    }
+
+    /**
+     * Number of bars dated on or before the given date, i.e. the exclusive end index of
+     * the window a scan for that date is allowed to see.
+     */
+    public int endIndexThrough(LocalDate date) {
+        int pos = Arrays.binarySearch(epochDays, 0, size, (int) date.toEpochDay());
+        return pos >= 0 ? pos + 1 : -(pos + 1);
+    }
+
+    /**
+     * Index of the bar on exactly the given date, or -1 if there is none.
+     */
+    public int indexOf(LocalDate date) {
+        int pos = Arrays.binarySearch(epochDays, 0, size, (int) date.toEpochDay());
+        return pos >= 0 ? pos : -1;
+    }
+
+    /**
+     * Materialises a single bar as a detached (non-managed) {@link StockPrice}.
+     */
+    public StockPrice toStockPrice(int index) {
+        return StockPrice.builder()
+            .symbol(symbol)
+            .date(date(index))
+            .openPrice(fromColumn(open[index]))
+            .highPrice(fromColumn(high[index]))
+            .lowPrice(fromColumn(low[index]))
+            .closePrice(fromColumn(close[index]))
+            .adjClose(fromColumn(adjClose[index]))
+            .volume(volume[index] == NO_VOLUME ? null : (int) volume[index])
+            .build();
+    }
+
+    /**
+     * Read-only list view of the first {@code end} bars. Elements are materialised on
+     * access, so callers that only touch the tail of the window only pay for the tail.
+     */
+    public List<StockPrice> asStockPrices(int end) {
+        if (end < 0 || end > size) {
+            throw new IndexOutOfBoundsException("end " + end + " outside series of size " + size);
+        }
+        return new StockPriceView(end);
+    }
+
+    private final class StockPriceView extends AbstractList<StockPrice> implements RandomAccess {
+
+        private final int end;
+
+        private StockPriceView(int end) {
+            this.end = end;
+        }
+
+        @Override
+        public StockPrice get(int index) {
+            if (index < 0 || index >= end) {
+                throw new IndexOutOfBoundsException("Index " + index + " outside view of size " + end);
+            }
+            return toStockPrice(index);
+        }
+
+        @Override
+        public int size() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.trading.scanner.service.data;
+
+import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.model.StockUniverse;
+import com.trading.scanner.repository.StockPriceRepository;
+import com.trading.scanner.repository.StockUniverseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * In-memory columnar price history for the scanner hot path.
+ *
+ * Each symbol's bars are loaded from {@code stock_prices} once (eagerly at startup, or on
+ * first use) and then only extended. A read for a scan date catches the series up with a
+ * single range query for bars newer than what the store has already seen, so the cost of
+ * a scan no longer grows with the length of the history.
+ *
+ * Series that were loaded or extended inside a transaction that later rolls back are
+ * evicted, so the store never serves bars that were never committed.
+ *
+ * With {@code scanner.archive.enabled}, cold loads read the symbol's {@link PriceArchive}
+ * file instead of {@code stock_prices}, and every committed load or extension is mirrored
+ * into it; the usual catch-up query then fetches only bars newer than the archive. A file
+ * is only used while its bar count and last date still match {@code stock_prices}, so
+ * rows written behind the store's back (e.g. a back-filled day) trigger a full reload.
+ *
+ * Entries are held in a {@link SymbolTable} under {@link SymbolDictionary} ids.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceSeriesStore {
+
+    /** Lower bound for catch-up queries on a symbol that has no bars yet. */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+
+    private final StockPriceRepository priceRepository;
+    private final StockUniverseRepository universeRepository;
+    private final PriceArchive priceArchive;
+    private final SymbolDictionary symbolDictionary;
+
+    private final SymbolTable<Entry> entries = new SymbolTable<>();
+
+    @Value("${scanner.priceStore.preload:true}")
+    private boolean preload;
+
+    /**
+     * A series together with the latest date the store has verified against the database.
+     * {@code coveredThrough} never runs ahead of the newest bar: a date without a bar may
+     * simply not be ingested yet, so reads for it keep querying until the bar shows up.
+     */
+    private record Entry(PriceSeries series, int coveredThrough) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadActiveUniverse() {
+        if (!preload) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<StockUniverse> activeStocks = universeRepository.findByIsActiveTrue();
+        symbolDictionary.registerAll(activeStocks.stream().map(StockUniverse::getSymbol).sorted().toList());
+        int bars = 0;
+        for (StockUniverse stock : activeStocks) {
+            bars += load(symbolDictionary.id(stock.getSymbol()), stock.getSymbol()).series().size();
+        }
+        log.info("Price store preloaded {} symbols ({} bars) in {} ms",
+            activeStocks.size(), bars, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Returns the series for a symbol, guaranteed to contain every persisted bar dated on or
+     * before {@code date}. Callers bound their window with {@link PriceSeries#endIndexThrough}.
+     */
+    public PriceSeries getSeriesThrough(String symbol, LocalDate date) {
+        int targetDay = (int) date.toEpochDay();
+        int id = symbolDictionary.id(symbol);
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = load(id, symbol);
+        }
+        if (entry.coveredThrough() >= targetDay) {
+            return entry.series();
+        }
+        return entries.compute(id, current -> catchUp(id, symbol, current, targetDay)).series();
+    }
+
+    /**
+     * Merges freshly persisted bars into the store, so that the next scan does not need to
+     * query for them. Optional: reads catch up with newer bars on their own.
+     */
+    public void append(String symbol, List<StockPrice> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+        int id = symbolDictionary.id(symbol);
+        entries.computeIfPresent(id, current -> {
+            trackForRollback(id);
+            PriceSeries updated = current.series().append(bars);
+            archive(current.series(), updated, bars);
+            return new Entry(updated, Math.max(current.coveredThrough(), updated.lastEpochDay()));
+        });
+    }
+
+    /**
+     * Drops a symbol so that its next read reloads the full history.
+     */
+    public void invalidate(String symbol) {
+        entries.remove(symbolDictionary.id(symbol));
+        priceArchive.delete(symbol);
+    }
+
+    /**
+     * Drops every cached series, e.g. after a historical reload rewrote past bars.
+     */
+    public void invalidateAll() {
+        entries.clear();
+        priceArchive.clear();
+        log.info("Price store invalidated");
+    }
+
+    private Entry load(int id, String symbol) {
+        return entries.computeIfAbsent(id, key -> {
+            trackForRollback(id);
+            PriceSeries series = readArchive(symbol);
+            if (series == null) {
+                series = PriceSeries.of(symbol, priceRepository.findBySymbolOrderByDateAsc(symbol));
+                archive(PriceSeries.empty(symbol), series, List.of());
+            }
+            return new Entry(series, series.lastEpochDay());
+        });
+    }
+
+    /**
+     * The archived series, or null if there is none or it no longer matches
+     * {@code stock_prices}; two indexed lookups instead of loading every row.
+     */
+    private PriceSeries readArchive(String symbol) {
+        PriceSeries series = priceArchive.read(symbol);
+        if (series == null) {
+            return null;
+        }
+        LocalDate latest = priceRepository.findLatestDateBySymbol(symbol);
+        if (latest == null || (int) latest.toEpochDay() != series.lastEpochDay()
+                || priceRepository.countBySymbol(symbol) != series.size()) {
+            log.info("Price archive of {} is out of date, reloading from the database", symbol);
+            return null;
+        }
+        return series;
+    }
+
+    private Entry catchUp(int id, String symbol, Entry current, int targetDay) {
+        if (current == null) {
+            trackForRollback(id);
+            List<StockPrice> bars = priceRepository.findBySymbolOrderByDateAsc(symbol);
+            PriceSeries series = PriceSeries.of(symbol, bars);
+            archive(PriceSeries.empty(symbol), series, List.of());
+            return new Entry(series, series.lastEpochDay());
+        }
+        if (current.coveredThrough() >= targetDay) {
+            return current;
+        }
+        trackForRollback(id);
+        LocalDate from = current.coveredThrough() == Integer.MIN_VALUE
+            ? EARLIEST_DATE
+            : LocalDate.ofEpochDay(current.coveredThrough() + 1L);
+        List<StockPrice> bars = priceRepository.findBySymbolAndDateBetweenOrderByDateAsc(
+            symbol, from, LocalDate.ofEpochDay(targetDay));
+        PriceSeries updated = current.series().append(bars);
+        archive(current.series(), updated, bars);
+        return new Entry(updated, Math.max(current.coveredThrough(), updated.lastEpochDay()));
+    }
+
+    /**
+     * Mirrors a change from {@code previous} to {@code updated} into the archive once the
+     * surrounding transaction (if any) commits. {@code bars} are the bars that were added;
+     * if any of them is not newer than {@code previous}, the whole file is rewritten.
+     */
+    private void archive(PriceSeries previous, PriceSeries updated, List<StockPrice> bars) {
+        if (!priceArchive.isEnabled() || updated == previous || updated.isEmpty()) {
+            return;
+        }
+        boolean newerOnly = bars.isEmpty()
+            || (int) bars.get(0).getDate().toEpochDay() > previous.lastEpochDay();
+        int from = previous.size();
+        Runnable write = newerOnly
+            ? () -> priceArchive.append(updated, from)
+            : () -> priceArchive.write(updated);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write.run();
+            }
+        });
+    }
+
+    private void trackForRollback(int id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        BitSet touched = (BitSet) TransactionSynchronizationManager.getResource(this);
+        if (touched == null) {
+            BitSet symbols = new BitSet();
+            TransactionSynchronizationManager.bindResource(this, symbols);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PriceSeriesStore.this);
+                    if (status != STATUS_COMMITTED) {
+                        symbols.stream().forEach(entries::remove);
+                        log.info("Price store evicted {} symbols after transaction rollback", symbols.cardinality());
+                    }
+                }
+            });
+            touched = symbols;
+        }
+        touched.set(id);
+    }
+}
@@ -0,0 +1,81 @@
+package com.trading.scanner.service.data;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dense int ids for symbols, so hot-path state can live in arrays indexed by id
+ * ({@link SymbolTable}) instead of string-keyed maps.
+ *
+ * Ids are assigned on first sight and never reused or reassigned while the process runs.
+ * {@link PriceSeriesStore} registers the active {@code StockUniverse} in symbol order at
+ * startup, so the universe occupies ids {@code [0, n)}; symbols seen later are appended.
+ * Ids are not persisted: strings remain the key at the API and database edges, and
+ * anything written to disk is written by symbol.
+ */
+@Component
+public class SymbolDictionary {
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[256];
+    private int size;
+
+    /**
+     * The symbol's id, assigning the next free one if it has none yet.
+     */
+    public int id(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : assign(symbol);
+    }
+
+    /**
+     * The symbol's id, or -1 if it has never been assigned one.
+     */
+    public int find(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * The symbol with this id, or null if the id has not been assigned.
+     */
+    public String symbol(int id) {
+        String[] current = symbols;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Number of ids assigned so far; every id is below this.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Assigns ids to the given symbols, in iteration order, that do not have one yet.
+     */
+    public void registerAll(Collection<String> newSymbols) {
+        for (String symbol : newSymbols) {
+            id(symbol);
+        }
+    }
+
+    private synchronized int assign(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == symbols.length) {
+            symbols = Arrays.copyOf(symbols, size * 2);
+        }
+        int id = size++;
+        // Name first, then the mapping: whoever can see the id can also resolve it
+        symbols[id] = symbol;
+        ids.put(symbol, id);
+        return id;
+    }
+}
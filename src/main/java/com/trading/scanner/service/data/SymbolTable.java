@@ -0,0 +1,133 @@
+package com.trading.scanner.service.data;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from {@link SymbolDictionary} ids to values, backed by arrays.
+ *
+ * Slots live in fixed-size chunks that are created on demand and never moved, so reads
+ * are a two-level array lookup without locking or hashing. Updates to the same id are
+ * serialised on one of a fixed set of stripe locks, which gives {@link #compute} the same
+ * per-key atomicity as {@code ConcurrentHashMap.compute}.
+ */
+public final class SymbolTable<V> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << 12;
+    private static final int STRIPES = 64;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<V>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final Object[] locks = new Object[STRIPES];
+
+    /** Receives each present entry in {@link #forEach}. */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int id, V value);
+    }
+
+    public SymbolTable() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public V get(int id) {
+        AtomicReferenceArray<V> chunk = chunks.get(id >>> CHUNK_BITS);
+        return chunk == null ? null : chunk.get(id & (CHUNK_SIZE - 1));
+    }
+
+    public void put(int id, V value) {
+        compute(id, current -> value);
+    }
+
+    public void remove(int id) {
+        if (get(id) != null) {
+            compute(id, current -> null);
+        }
+    }
+
+    /**
+     * Replaces the value for {@code id} with {@code update(current)}, where current may be
+     * null; a null result removes the entry. Atomic with respect to other updates of the
+     * same id.
+     */
+    public V compute(int id, UnaryOperator<V> update) {
+        AtomicReferenceArray<V> chunk = chunk(id);
+        int slot = id & (CHUNK_SIZE - 1);
+        synchronized (locks[id & (STRIPES - 1)]) {
+            V updated = update.apply(chunk.get(slot));
+            chunk.set(slot, updated);
+            return updated;
+        }
+    }
+
+    public V computeIfAbsent(int id, IntFunction<V> factory) {
+        V current = get(id);
+        if (current != null) {
+            return current;
+        }
+        return compute(id, existing -> existing != null ? existing : factory.apply(id));
+    }
+
+    public V computeIfPresent(int id, UnaryOperator<V> update) {
+        if (get(id) == null) {
+            return null;
+        }
+        return compute(id, existing -> existing == null ? null : update.apply(existing));
+    }
+
+    public void clear() {
+        for (int c = 0; c < MAX_CHUNKS; c++) {
+            AtomicReferenceArray<V> chunk = chunks.get(c);
+            if (chunk != null) {
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    chunk.set(i, null);
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int size() {
+        int[] count = new int[1];
+        forEach((id, value) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Visits the entries present at the time each slot is read, in id order.
+     */
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int c = 0; c < MAX_CHUNKS; c++) {
+            AtomicReferenceArray<V> chunk = chunks.get(c);
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                V value = chunk.get(i);
+                if (value != null) {
+                    consumer.accept((c << CHUNK_BITS) | i, value);
+                }
+            }
+        }
+    }
+
+    private AtomicReferenceArray<V> chunk(int id) {
+        int index = id >>> CHUNK_BITS;
+        if (index >= MAX_CHUNKS) {
+            throw new IllegalArgumentException("Symbol id out of range: " + id);
+        }
+        AtomicReferenceArray<V> chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+}
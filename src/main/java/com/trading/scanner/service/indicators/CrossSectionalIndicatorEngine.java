@@ -0,0 +1,140 @@
+package com.trading.scanner.service.indicators;
+
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Computes the {@link IndicatorBundle} of every symbol in a scan at once.
+ *
+ * The trailing window of the whole universe is laid out as a {@link CrossSectionalWindow}
+ * and each indicator is a single pass over its rows with one accumulator per symbol. The
+ * passes run on {@code jdk.incubator.vector} when the module is loaded and
+ * {@code scanner.indicators.vector.enabled} is set, otherwise on a scalar kernel.
+ *
+ * Results are identical to
+ * {@link IndicatorService#calculateIndicators(PriceSeries, int, IndicatorParameters)}.
+ */
+@Slf4j
+@Service
+public class CrossSectionalIndicatorEngine {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.trading.scanner.service.indicators.VectorCrossSectionalKernel";
+
+    private final CrossSectionalKernel kernel;
+
+    public CrossSectionalIndicatorEngine(@Value("${scanner.indicators.vector.enabled:true}") boolean vectorEnabled) {
+        this.kernel = selectKernel(vectorEnabled);
+        log.info("Cross-sectional indicators using {} kernel", kernel.name());
+    }
+
+    private static CrossSectionalKernel selectKernel(boolean vectorEnabled) {
+        if (!vectorEnabled) {
+            return new ScalarCrossSectionalKernel();
+        }
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("{} is not loaded (start the JVM with --add-modules {}), using the scalar kernel",
+                VECTOR_MODULE, VECTOR_MODULE);
+            return new ScalarCrossSectionalKernel();
+        }
+        try {
+            return (CrossSectionalKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector kernel unavailable, using the scalar kernel: {}", e.toString());
+            return new ScalarCrossSectionalKernel();
+        }
+    }
+
+    /**
+     * Bundles for the first {@code ends[i]} bars of {@code series.get(i)}, in input order.
+     */
+    public IndicatorBundle[] calculateIndicators(List<PriceSeries> series, int[] ends, IndicatorParameters params) {
+        int symbols = series.size();
+        IndicatorBundle[] bundles = new IndicatorBundle[symbols];
+        if (symbols == 0) {
+            return bundles;
+        }
+
+        int depth = Math.max(Math.max(params.rsiPeriod() + 1, params.smaShortPeriod()),
+            Math.max(params.smaMediumPeriod(), params.smaLongPeriod()));
+        CrossSectionalWindow window = CrossSectionalWindow.of(series, ends, depth);
+
+        double[] gains = new double[symbols];
+        double[] losses = new double[symbols];
+        kernel.gainLoss(window.adjClose(), symbols, depth - params.rsiPeriod(), depth, gains, losses);
+
+        double[] smaShort = new double[symbols];
+        int[] smaShortCount = new int[symbols];
+        kernel.sumPresent(window.adjClose(), symbols, depth - params.smaShortPeriod(), depth, smaShort, smaShortCount);
+
+        double[] smaMedium = new double[symbols];
+        int[] smaMediumCount = new int[symbols];
+        kernel.sumPresent(window.adjClose(), symbols, depth - params.smaMediumPeriod(), depth, smaMedium, smaMediumCount);
+
+        double[] smaLong = new double[symbols];
+        int[] smaLongCount = new int[symbols];
+        kernel.sumPresent(window.adjClose(), symbols, depth - params.smaLongPeriod(), depth, smaLong, smaLongCount);
+
+        double[] volume = new double[symbols];
+        int[] volumeCount = new int[symbols];
+        kernel.sumPresent(window.volume(), symbols, depth - params.smaShortPeriod(), depth, volume, volumeCount);
+
+        for (int s = 0; s < symbols; s++) {
+            int end = window.end(s);
+            IndicatorBundle bundle = new IndicatorBundle();
+            bundles[s] = bundle;
+            if (end == 0) {
+                continue;
+            }
+
+            if (end >= params.rsiPeriod() + 1) {
+                double avgGain = gains[s] / params.rsiPeriod();
+                double avgLoss = losses[s] / params.rsiPeriod();
+                bundle.setRsi(avgLoss == 0 ? 100.0 : 100 - (100 / (1 + avgGain / avgLoss)));
+            }
+
+            if (end >= params.smaShortPeriod()) {
+                bundle.setSma20(mean(smaShort[s], smaShortCount[s]));
+                bundle.setAvgVolume20(volumeCount[s] == 0 ? null : (long) volume[s] / volumeCount[s]);
+            }
+
+            if (end >= params.smaMediumPeriod()) {
+                bundle.setSma50(mean(smaMedium[s], smaMediumCount[s]));
+            }
+
+            if (end >= params.smaLongPeriod()) {
+                bundle.setSma200(mean(smaLong[s], smaLongCount[s]));
+            }
+
+            double currentPrice = window.latestAdjClose(s);
+            if (!Double.isNaN(currentPrice)) {
+                if (bundle.getSma20() != null) {
+                    bundle.setAboveSma20(currentPrice > bundle.getSma20());
+                }
+                if (bundle.getSma50() != null) {
+                    bundle.setAboveSma50(currentPrice > bundle.getSma50());
+                }
+                if (bundle.getSma200() != null) {
+                    bundle.setAboveSma200(currentPrice > bundle.getSma200());
+                }
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Name of the kernel in use, for logs and benchmarks.
+     */
+    public String kernelName() {
+        return kernel.name();
+    }
+
+    private static Double mean(double sum, int count) {
+        return count == 0 ? null : sum / count;
+    }
+}
@@ -0,0 +1,23 @@
+package com.trading.scanner.service.indicators;
+
+/**
+ * Column primitives for {@link CrossSectionalIndicatorEngine}. Each call walks rows
+ * {@code [fromRow, toRow)} of a row-major column oldest to newest and accumulates one
+ * result per symbol, so per-symbol summation order matches {@link IndicatorService} and
+ * results are bit-for-bit identical to the per-symbol path.
+ */
+interface CrossSectionalKernel {
+
+    /**
+     * Sum and count of the non-NaN values per symbol.
+     */
+    void sumPresent(double[] column, int symbols, int fromRow, int toRow, double[] sums, int[] counts);
+
+    /**
+     * Sums of positive and of non-positive (as absolute values) row-to-row changes per
+     * symbol, skipping changes where either value is NaN. Row {@code fromRow - 1} must exist.
+     */
+    void gainLoss(double[] column, int symbols, int fromRow, int toRow, double[] gains, double[] losses);
+
+    String name();
+}
@@ -0,0 +1,84 @@
+package com.trading.scanner.service.indicators;
+
+import com.trading.scanner.service.data.PriceSeries;
+
+import java.util.List;
+
+/**
+ * The last {@code depth} bars of a whole universe in structure-of-arrays form.
+ *
+ * Columns are row-major by bar: the value for symbol {@code s} at row {@code r} lives at
+ * {@code r * symbols + s}, so a single row is a contiguous run across the universe and a
+ * kernel can process many symbols per instruction. Row {@code depth - 1} is each symbol's
+ * newest bar (index {@code end - 1} of its series); rows before a symbol's first bar are
+ * NaN.
+ */
+final class CrossSectionalWindow {
+
+    private final int symbols;
+    private final int depth;
+    private final int[] ends;
+    private final double[] adjClose;
+    private final double[] volume;
+
+    private CrossSectionalWindow(int symbols, int depth, int[] ends, double[] adjClose, double[] volume) {
+        this.symbols = symbols;
+        this.depth = depth;
+        this.ends = ends;
+        this.adjClose = adjClose;
+        this.volume = volume;
+    }
+
+    /**
+     * Lays out bars {@code [ends[s] - depth, ends[s])} of each series. Volumes that
+     * {@link IndicatorService#calculateAvgVolume} ignores (missing or not positive) are
+     * stored as NaN, so every column uses the same "skip NaN" rule.
+     */
+    static CrossSectionalWindow of(List<PriceSeries> series, int[] ends, int depth) {
+        int symbols = series.size();
+        double[] adjClose = new double[symbols * depth];
+        double[] volume = new double[symbols * depth];
+
+        for (int s = 0; s < symbols; s++) {
+            PriceSeries one = series.get(s);
+            int first = ends[s] - depth;
+            for (int row = 0; row < depth; row++) {
+                int index = first + row;
+                int cell = row * symbols + s;
+                if (index < 0) {
+                    adjClose[cell] = Double.NaN;
+                    volume[cell] = Double.NaN;
+                    continue;
+                }
+                adjClose[cell] = one.adjClose(index);
+                long v = one.volume(index);
+                volume[cell] = v != PriceSeries.NO_VOLUME && v > 0 ? v : Double.NaN;
+            }
+        }
+        return new CrossSectionalWindow(symbols, depth, ends.clone(), adjClose, volume);
+    }
+
+    int symbols() {
+        return symbols;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int end(int symbol) {
+        return ends[symbol];
+    }
+
+    double[] adjClose() {
+        return adjClose;
+    }
+
+    double[] volume() {
+        return volume;
+    }
+
+    double latestAdjClose(int symbol) {
+        return adjClose[(depth - 1) * symbols + symbol];
+    }
+}
@@ -0,0 +1,163 @@
+package com.trading.scanner.service.indicators;
+
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.data.SymbolDictionary;
+import com.trading.scanner.service.data.SymbolTable;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming indicator engine. Keeps a {@link RollingIndicatorState} per symbol and advances
+ * it only by the bars added since the previous scan, instead of walking the full window
+ * every time.
+ *
+ * State is written to {@code scanner.indicators.stateFile} on shutdown and restored on
+ * startup. A restored (or in-memory) state is only trusted while the bar it last consumed
+ * still matches the price series; otherwise it is rebuilt from the tail of the series.
+ * In memory, states are keyed by {@link SymbolDictionary} id; the snapshot file is keyed
+ * by symbol.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncrementalIndicatorEngine {
+
+    private static final int SNAPSHOT_MAGIC = 0x49534e31; // "ISN1"
+
+    private final SymbolDictionary symbolDictionary;
+    private final SymbolTable<RollingIndicatorState> states = new SymbolTable<>();
+
+    @Value("${scanner.indicators.stateFile:data/indicator-state.bin}")
+    private String stateFile;
+
+    /**
+     * Indicators for the first {@code end} bars of the series, equivalent to
+     * {@link IndicatorService#calculateIndicators(PriceSeries, int, IndicatorParameters)}.
+     */
+    public IndicatorBundle calculateIndicators(PriceSeries series, int end, IndicatorParameters params) {
+        if (series == null || end == 0) {
+            return new IndicatorBundle();
+        }
+        IndicatorBundle[] result = new IndicatorBundle[1];
+        states.compute(symbolDictionary.id(series.getSymbol()), state -> {
+            RollingIndicatorState current = state;
+            if (current == null
+                    || !current.params().equals(params)
+                    || current.barsSeen() > end
+                    || !current.isConsistentWith(series)) {
+                current = RollingIndicatorState.seed(series, end, params);
+            } else {
+                current.advance(series, end);
+            }
+            result[0] = current.toBundle();
+            return current;
+        });
+        return result[0];
+    }
+
+    /**
+     * Drops all rolling state, e.g. after the underlying price history was replaced.
+     */
+    public void reset() {
+        states.clear();
+    }
+
+    /**
+     * Drops one symbol's rolling state, e.g. after its history was reloaded. The
+     * consistency check only looks at the last consumed bar, so a reload that restates
+     * earlier bars (a split or dividend re-adjustment) must call this.
+     */
+    public void invalidate(String symbol) {
+        states.remove(symbolDictionary.id(symbol));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshot() {
+        Path path = Path.of(stateFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            int count = readState(path);
+            log.info("Restored indicator state for {} symbols from {}", count, path);
+        } catch (IOException e) {
+            states.clear();
+            log.warn("Failed to restore indicator state from {}, rebuilding on demand: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        if (states.isEmpty()) {
+            return;
+        }
+        Path path = Path.of(stateFile);
+        try {
+            int count = writeState(path);
+            log.info("Wrote indicator state for {} symbols to {}", count, path);
+        } catch (IOException e) {
+            log.warn("Failed to write indicator state to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the current rolling state to {@code path}, atomically replacing any existing
+     * file, and returns the number of symbols written.
+     */
+    public int writeState(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<String, RollingIndicatorState> copy = new LinkedHashMap<>();
+        states.forEach((id, state) -> copy.put(symbolDictionary.symbol(id), state));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(copy.size());
+            for (Map.Entry<String, RollingIndicatorState> entry : copy.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return copy.size();
+    }
+
+    /**
+     * Replaces the current rolling state with the one written to {@code path} by
+     * {@link #writeState}, and returns the number of symbols read. Symbols missing from
+     * the file are rebuilt on demand.
+     */
+    public int readState(Path path) throws IOException {
+        states.clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("unrecognised indicator state format");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String symbol = in.readUTF();
+                states.put(symbolDictionary.id(symbol), RollingIndicatorState.readFrom(in));
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.trading.scanner.service.indicators;
+
+/**
+ * The indicators an {@link IndicatorBundle} can carry. Rules declare the ones they read so
+ * that the scanner only computes those; the short/medium/long SMAs also back the
+ * corresponding {@code aboveSma*} flags.
+ */
+public enum Indicator {
+    RSI,
+    SMA_SHORT,
+    SMA_MEDIUM,
+    SMA_LONG,
+    AVG_VOLUME
+}
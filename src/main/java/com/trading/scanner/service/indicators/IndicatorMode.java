@@ -0,0 +1,14 @@
+package com.trading.scanner.service.indicators;
+
+/**
+ * Selects how the scanner computes the {@link IndicatorBundle} for each symbol.
+ * Configured through {@code scanner.indicators.mode}.
+ */
+public enum IndicatorMode {
+    /** Recompute every indicator over its full window on each scan. */
+    BATCH,
+    /** Advance per-symbol rolling state by the bars added since the previous scan. */
+    INCREMENTAL,
+    /** Compute the whole universe in one structure-of-arrays pass (see {@link CrossSectionalIndicatorEngine}). */
+    CROSS_SECTIONAL
+}
@@ -1,6 +1,7 @@
 package com.trading.scanner.service.indicators;
 
 import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
 import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,15 +19,11 @@ public class IndicatorService {
         
         IndicatorBundle bundle = new IndicatorBundle();
         
-        // DEBUG: Log entry with size checks
-        log.info("DEBUG_INDICATOR_CALC priceSize={} rsiRequires={} sma20Requires={}",
-            prices.size(), params.rsiPeriod(), params.smaShortPeriod());
-        
         if (prices.size() >= params.rsiPeriod()) {
             bundle.setRsi(calculateRSI(prices, params.rsiPeriod()));
             log.debug("DEBUG_RSI_CALC rsiValue={}", bundle.getRsi());
         } else {
-            log.info("DEBUG_RSI_SKIPPED priceSize={} required={}", prices.size(), params.rsiPeriod());
+            log.debug("DEBUG_RSI_SKIPPED priceSize={} required={}", prices.size(), params.rsiPeriod());
         }
         
         if (prices.size() >= params.smaShortPeriod()) {
@@ -34,7 +31,7 @@ public class IndicatorService {
             bundle.setAvgVolume20(calculateAvgVolume(prices, params.smaShortPeriod()));
             log.debug("DEBUG_SMA20_CALC sma20Value={} avgVol={}", bundle.getSma20(), bundle.getAvgVolume20());
         } else {
-            log.info("DEBUG_SMA20_SKIPPED priceSize={} required={}", prices.size(), params.smaShortPeriod());
+            log.debug("DEBUG_SMA20_SKIPPED priceSize={} required={}", prices.size(), params.smaShortPeriod());
         }
         
         if (prices.size() >= params.smaMediumPeriod()) {
@@ -174,4 +171,159 @@ public class IndicatorService {
         
         return trSum / period;
     }
+
+    // --- Columnar variants ---
+    // These mirror the List<StockPrice> calculations above bar for bar (same windows, same
+    // null-skipping, same summation order) but read the first {@code end} bars of a
+    // PriceSeries directly, so no StockPrice entities are materialised on the scan path.
+
+    public IndicatorBundle calculateIndicators(PriceSeries series, int end, IndicatorParameters params) {
+        if (series == null || end == 0) {
+            return new IndicatorBundle();
+        }
+
+        IndicatorBundle bundle = new IndicatorBundle();
+
+        if (end >= params.rsiPeriod()) {
+            bundle.setRsi(calculateRSI(series, end, params.rsiPeriod()));
+            log.debug("DEBUG_RSI_CALC rsiValue={}", bundle.getRsi());
+        } else {
+            log.debug("DEBUG_RSI_SKIPPED priceSize={} required={}", end, params.rsiPeriod());
+        }
+
+        if (end >= params.smaShortPeriod()) {
+            bundle.setSma20(calculateSMA(series, end, params.smaShortPeriod()));
+            bundle.setAvgVolume20(calculateAvgVolume(series, end, params.smaShortPeriod()));
+            log.debug("DEBUG_SMA20_CALC sma20Value={} avgVol={}", bundle.getSma20(), bundle.getAvgVolume20());
+        } else {
+            log.debug("DEBUG_SMA20_SKIPPED priceSize={} required={}", end, params.smaShortPeriod());
+        }
+
+        if (end >= params.smaMediumPeriod()) {
+            bundle.setSma50(calculateSMA(series, end, params.smaMediumPeriod()));
+        }
+
+        if (end >= params.smaLongPeriod()) {
+            bundle.setSma200(calculateSMA(series, end, params.smaLongPeriod()));
+        }
+
+        double currentPrice = series.adjClose(end - 1);
+        if (!Double.isNaN(currentPrice)) {
+            if (bundle.getSma20() != null) {
+                bundle.setAboveSma20(currentPrice > bundle.getSma20());
+            }
+            if (bundle.getSma50() != null) {
+                bundle.setAboveSma50(currentPrice > bundle.getSma50());
+            }
+            if (bundle.getSma200() != null) {
+                bundle.setAboveSma200(currentPrice > bundle.getSma200());
+            }
+        }
+
+        return bundle;
+    }
+
+    public Double calculateRSI(PriceSeries series, int end, int period) {
+        if (end < period + 1) {
+            return null;
+        }
+
+        double gainSum = 0;
+        double lossSum = 0;
+
+        for (int i = end - period; i < end; i++) {
+            double currentClose = series.adjClose(i);
+            double prevClose = series.adjClose(i - 1);
+
+            if (Double.isNaN(currentClose) || Double.isNaN(prevClose)) continue;
+
+            double change = currentClose - prevClose;
+
+            if (change > 0) {
+                gainSum += change;
+            } else {
+                lossSum += Math.abs(change);
+            }
+        }
+
+        double avgGain = gainSum / period;
+        double avgLoss = lossSum / period;
+
+        if (avgLoss == 0) {
+            return 100.0;
+        }
+
+        double rs = avgGain / avgLoss;
+        return 100 - (100 / (1 + rs));
+    }
+
+    public Double calculateSMA(PriceSeries series, int end, int period) {
+        if (end < period) {
+            return null;
+        }
+
+        double sum = 0;
+        int count = 0;
+
+        for (int i = end - period; i < end; i++) {
+            double adjClose = series.adjClose(i);
+            if (!Double.isNaN(adjClose)) {
+                sum += adjClose;
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        return sum / count;
+    }
+
+    public Long calculateAvgVolume(PriceSeries series, int end, int period) {
+        if (end < period) {
+            return null;
+        }
+
+        long sum = 0;
+        int count = 0;
+
+        for (int i = end - period; i < end; i++) {
+            long volume = series.volume(i);
+            if (volume != PriceSeries.NO_VOLUME && volume > 0) {
+                sum += volume;
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        return sum / count;
+    }
+
+    public Double calculateATR(PriceSeries series, int end, int period) {
+        if (end < period + 1) {
+            return null;
+        }
+
+        double trSum = 0;
+
+        for (int i = end - period; i < end; i++) {
+            double high = series.high(i);
+            double low = series.low(i);
+            double prevClose = series.adjClose(i - 1);
+
+            if (Double.isNaN(high) || Double.isNaN(low) || Double.isNaN(prevClose)) continue;
+
+            double tr1 = high - low;
+            double tr2 = Math.abs(high - prevClose);
+            double tr3 = Math.abs(low - prevClose);
+
+            trSum += Math.max(tr1, Math.max(tr2, tr3));
+        }
+
+        return trSum / period;
+    }
 }
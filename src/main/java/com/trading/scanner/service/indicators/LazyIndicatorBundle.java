@@ -0,0 +1,141 @@
+package com.trading.scanner.service.indicators;
+
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+
+import java.util.Set;
+
+/**
+ * An {@link IndicatorBundle} for one symbol and date whose values are computed on first
+ * read and then memoised.
+ *
+ * Only indicators in {@code enabled} are ever computed; the others read as absent, exactly
+ * as if the history were too short for them. Values are identical to
+ * {@link IndicatorService#calculateIndicators(PriceSeries, int, IndicatorParameters)}.
+ *
+ * Not thread-safe: a bundle belongs to the single scan task evaluating its symbol.
+ */
+public class LazyIndicatorBundle extends IndicatorBundle {
+
+    private final PriceSeries series;
+    private final int end;
+    private final IndicatorParameters params;
+    private final Set<Indicator> enabled;
+    private final IndicatorService indicatorService;
+
+    private int computed;
+
+    public LazyIndicatorBundle(PriceSeries series, int end, IndicatorParameters params,
+                               Set<Indicator> enabled, IndicatorService indicatorService) {
+        this.series = series;
+        this.end = end;
+        this.params = params;
+        this.enabled = enabled;
+        this.indicatorService = indicatorService;
+    }
+
+    /**
+     * True if the indicator has already been computed (or resolved as unavailable).
+     */
+    public boolean isComputed(Indicator indicator) {
+        return (computed & (1 << indicator.ordinal())) != 0;
+    }
+
+    @Override
+    public Double getRsi() {
+        if (claim(Indicator.RSI) && end >= params.rsiPeriod()) {
+            super.setRsi(indicatorService.calculateRSI(series, end, params.rsiPeriod()));
+        }
+        return super.getRsi();
+    }
+
+    @Override
+    public Double getSma20() {
+        if (claim(Indicator.SMA_SHORT)) {
+            super.setSma20(sma(params.smaShortPeriod()));
+        }
+        return super.getSma20();
+    }
+
+    @Override
+    public Double getSma50() {
+        if (claim(Indicator.SMA_MEDIUM)) {
+            super.setSma50(sma(params.smaMediumPeriod()));
+        }
+        return super.getSma50();
+    }
+
+    @Override
+    public Double getSma200() {
+        if (claim(Indicator.SMA_LONG)) {
+            super.setSma200(sma(params.smaLongPeriod()));
+        }
+        return super.getSma200();
+    }
+
+    @Override
+    public Long getAvgVolume20() {
+        if (claim(Indicator.AVG_VOLUME) && end >= params.smaShortPeriod()) {
+            super.setAvgVolume20(indicatorService.calculateAvgVolume(series, end, params.smaShortPeriod()));
+        }
+        return super.getAvgVolume20();
+    }
+
+    @Override
+    public Boolean getAboveSma20() {
+        return above(getSma20());
+    }
+
+    @Override
+    public Boolean getAboveSma50() {
+        return above(getSma50());
+    }
+
+    @Override
+    public Boolean getAboveSma200() {
+        return above(getSma200());
+    }
+
+    @Override
+    public boolean hasRsi() {
+        return getRsi() != null;
+    }
+
+    @Override
+    public boolean hasSma20() {
+        return getSma20() != null;
+    }
+
+    @Override
+    public boolean hasSma50() {
+        return getSma50() != null;
+    }
+
+    @Override
+    public boolean hasAvgVolume() {
+        return getAvgVolume20() != null;
+    }
+
+    /**
+     * Marks the indicator as resolved; true if the caller should compute it now.
+     */
+    private boolean claim(Indicator indicator) {
+        if (isComputed(indicator)) {
+            return false;
+        }
+        computed |= 1 << indicator.ordinal();
+        return enabled.contains(indicator);
+    }
+
+    private Double sma(int period) {
+        return end >= period ? indicatorService.calculateSMA(series, end, period) : null;
+    }
+
+    private Boolean above(Double sma) {
+        if (sma == null || end == 0) {
+            return null;
+        }
+        double currentPrice = series.adjClose(end - 1);
+        return Double.isNaN(currentPrice) ? null : currentPrice > sma;
+    }
+}
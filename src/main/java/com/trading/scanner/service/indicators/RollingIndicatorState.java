@@ -0,0 +1,331 @@
+package com.trading.scanner.service.indicators;
+
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Per-symbol rolling indicator state, advanced one bar at a time in O(1).
+ *
+ * The state reproduces the windows of {@link IndicatorService}: simple means over the last
+ * N adjusted closes (skipping missing values), the simple gain/loss averages over the last
+ * {@code rsiPeriod} close-to-close changes, and the mean of positive volumes. Running sums
+ * are re-summed from the ring buffer once per window length, in the same oldest-to-newest
+ * order as the batch path, so accumulated rounding never drifts past one window.
+ *
+ * Re-summing happens at bar indexes that are multiples of the window length, so the value
+ * at a given bar depends only on the bars themselves and not on where the state was seeded
+ * or whether it was restored from a snapshot; replays stay bit-for-bit deterministic.
+ */
+public final class RollingIndicatorState {
+
+    private final IndicatorParameters params;
+    private final RollingWindow gains;
+    private final RollingWindow losses;
+    private final RollingWindow smaShort;
+    private final RollingWindow smaMedium;
+    private final RollingWindow smaLong;
+    private final RollingVolume volume;
+
+    private int barsSeen;
+    private int lastEpochDay = Integer.MIN_VALUE;
+    private double lastAdjClose = Double.NaN;
+    private long lastVolume = PriceSeries.NO_VOLUME;
+
+    RollingIndicatorState(IndicatorParameters params) {
+        this.params = params;
+        this.gains = new RollingWindow(params.rsiPeriod());
+        this.losses = new RollingWindow(params.rsiPeriod());
+        this.smaShort = new RollingWindow(params.smaShortPeriod());
+        this.smaMedium = new RollingWindow(params.smaMediumPeriod());
+        this.smaLong = new RollingWindow(params.smaLongPeriod());
+        this.volume = new RollingVolume(params.smaShortPeriod());
+    }
+
+    /**
+     * Builds a state positioned at {@code end}. Two lookbacks of the longest window are
+     * fed, so every window has passed an aligned re-sum before {@code end}.
+     */
+    static RollingIndicatorState seed(PriceSeries series, int end, IndicatorParameters params) {
+        RollingIndicatorState state = new RollingIndicatorState(params);
+        int start = Math.max(0, end - 2 * maxLookback(params));
+        state.barsSeen = start;
+        if (start > 0) {
+            state.lastAdjClose = series.adjClose(start - 1);
+        }
+        state.advance(series, end);
+        return state;
+    }
+
+    private static int maxLookback(IndicatorParameters params) {
+        int longest = Math.max(Math.max(params.rsiPeriod(), params.smaShortPeriod()),
+            Math.max(params.smaMediumPeriod(), params.smaLongPeriod()));
+        return longest + 1;
+    }
+
+    /**
+     * Feeds bars {@code [barsSeen, end)} of the series.
+     */
+    void advance(PriceSeries series, int end) {
+        for (int i = barsSeen; i < end; i++) {
+            push(series, i);
+        }
+    }
+
+    private void push(PriceSeries series, int index) {
+        double adjClose = series.adjClose(index);
+        if (barsSeen > 0) {
+            if (Double.isNaN(adjClose) || Double.isNaN(lastAdjClose)) {
+                gains.push(Double.NaN, index);
+                losses.push(Double.NaN, index);
+            } else {
+                double change = adjClose - lastAdjClose;
+                gains.push(change > 0 ? change : 0.0, index);
+                losses.push(change > 0 ? 0.0 : Math.abs(change), index);
+            }
+        }
+        smaShort.push(adjClose, index);
+        smaMedium.push(adjClose, index);
+        smaLong.push(adjClose, index);
+        volume.push(series.volume(index));
+
+        barsSeen++;
+        lastEpochDay = series.epochDay(index);
+        lastAdjClose = adjClose;
+        lastVolume = series.volume(index);
+    }
+
+    int barsSeen() {
+        return barsSeen;
+    }
+
+    IndicatorParameters params() {
+        return params;
+    }
+
+    /**
+     * True if the last bar this state consumed is still the bar at the same position of
+     * the series, i.e. the history it was built from has not been restated or rolled back.
+     */
+    boolean isConsistentWith(PriceSeries series) {
+        if (barsSeen == 0) {
+            return true;
+        }
+        int index = barsSeen - 1;
+        return index < series.size()
+            && series.epochDay(index) == lastEpochDay
+            && Double.doubleToLongBits(series.adjClose(index)) == Double.doubleToLongBits(lastAdjClose)
+            && series.volume(index) == lastVolume;
+    }
+
+    IndicatorBundle toBundle() {
+        IndicatorBundle bundle = new IndicatorBundle();
+
+        if (barsSeen >= params.rsiPeriod() + 1) {
+            double avgGain = gains.sum() / params.rsiPeriod();
+            double avgLoss = losses.sum() / params.rsiPeriod();
+            bundle.setRsi(avgLoss == 0 ? 100.0 : 100 - (100 / (1 + avgGain / avgLoss)));
+        }
+
+        if (barsSeen >= params.smaShortPeriod()) {
+            bundle.setSma20(smaShort.mean());
+            bundle.setAvgVolume20(volume.mean());
+        }
+
+        if (barsSeen >= params.smaMediumPeriod()) {
+            bundle.setSma50(smaMedium.mean());
+        }
+
+        if (barsSeen >= params.smaLongPeriod()) {
+            bundle.setSma200(smaLong.mean());
+        }
+
+        if (barsSeen > 0 && !Double.isNaN(lastAdjClose)) {
+            if (bundle.getSma20() != null) {
+                bundle.setAboveSma20(lastAdjClose > bundle.getSma20());
+            }
+            if (bundle.getSma50() != null) {
+                bundle.setAboveSma50(lastAdjClose > bundle.getSma50());
+            }
+            if (bundle.getSma200() != null) {
+                bundle.setAboveSma200(lastAdjClose > bundle.getSma200());
+            }
+        }
+
+        return bundle;
+    }
+
+    // --- Snapshot serialisation ---
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(params.rsiPeriod());
+        out.writeInt(params.smaShortPeriod());
+        out.writeInt(params.smaMediumPeriod());
+        out.writeInt(params.smaLongPeriod());
+        out.writeInt(barsSeen);
+        out.writeInt(lastEpochDay);
+        out.writeDouble(lastAdjClose);
+        out.writeLong(lastVolume);
+        gains.writeTo(out);
+        losses.writeTo(out);
+        smaShort.writeTo(out);
+        smaMedium.writeTo(out);
+        smaLong.writeTo(out);
+        volume.writeTo(out);
+    }
+
+    static RollingIndicatorState readFrom(DataInput in) throws IOException {
+        IndicatorParameters params = new IndicatorParameters(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        RollingIndicatorState state = new RollingIndicatorState(params);
+        state.barsSeen = in.readInt();
+        state.lastEpochDay = in.readInt();
+        state.lastAdjClose = in.readDouble();
+        state.lastVolume = in.readLong();
+        state.gains.readFrom(in);
+        state.losses.readFrom(in);
+        state.smaShort.readFrom(in);
+        state.smaMedium.readFrom(in);
+        state.smaLong.readFrom(in);
+        state.volume.readFrom(in);
+        return state;
+    }
+
+    /**
+     * Ring buffer of doubles with a running sum over the non-NaN entries.
+     */
+    private static final class RollingWindow {
+
+        private final double[] values;
+        private int next;
+        private int filled;
+        private int present;
+        private double sum;
+
+        RollingWindow(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        void push(double value, int index) {
+            if (filled == values.length) {
+                double evicted = values[next];
+                if (!Double.isNaN(evicted)) {
+                    sum -= evicted;
+                    present--;
+                }
+            } else {
+                filled++;
+            }
+            values[next] = value;
+            if (!Double.isNaN(value)) {
+                sum += value;
+                present++;
+            }
+            next = (next + 1) % values.length;
+            if (filled == values.length && index % values.length == 0) {
+                resync();
+            }
+        }
+
+        private void resync() {
+            double exact = 0;
+            for (int i = 0; i < values.length; i++) {
+                double value = values[(next + i) % values.length];
+                if (!Double.isNaN(value)) {
+                    exact += value;
+                }
+            }
+            sum = exact;
+        }
+
+        double sum() {
+            return sum;
+        }
+
+        Double mean() {
+            return present == 0 ? null : sum / present;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(next);
+            out.writeInt(filled);
+            out.writeInt(present);
+            out.writeDouble(sum);
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            next = in.readInt();
+            filled = in.readInt();
+            present = in.readInt();
+            sum = in.readDouble();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readDouble();
+            }
+        }
+    }
+
+    /**
+     * Ring buffer of volumes averaging only positive values, matching
+     * {@link IndicatorService#calculateAvgVolume}. Integer sums need no resync.
+     */
+    private static final class RollingVolume {
+
+        private final long[] values;
+        private int next;
+        private int filled;
+        private int present;
+        private long sum;
+
+        RollingVolume(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        void push(long value) {
+            long counted = value != PriceSeries.NO_VOLUME && value > 0 ? value : 0;
+            if (filled == values.length) {
+                long evicted = values[next];
+                if (evicted > 0) {
+                    sum -= evicted;
+                    present--;
+                }
+            } else {
+                filled++;
+            }
+            values[next] = counted;
+            if (counted > 0) {
+                sum += counted;
+                present++;
+            }
+            next = (next + 1) % values.length;
+        }
+
+        Long mean() {
+            return present == 0 ? null : sum / present;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(next);
+            out.writeInt(filled);
+            out.writeInt(present);
+            out.writeLong(sum);
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            next = in.readInt();
+            filled = in.readInt();
+            present = in.readInt();
+            sum = in.readLong();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readLong();
+            }
+        }
+    }
+}
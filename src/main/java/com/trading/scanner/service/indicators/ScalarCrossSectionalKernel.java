@@ -0,0 +1,69 @@
+package com.trading.scanner.service.indicators;
+
+/**
+ * Portable {@link CrossSectionalKernel}, used when the Vector API module is not available.
+ * The inner loop runs across symbols, which the JIT can still auto-vectorise.
+ */
+final class ScalarCrossSectionalKernel implements CrossSectionalKernel {
+
+    @Override
+    public void sumPresent(double[] column, int symbols, int fromRow, int toRow, double[] sums, int[] counts) {
+        sumPresent(column, symbols, fromRow, toRow, sums, counts, 0);
+    }
+
+    /**
+     * Symbols {@code [fromSymbol, symbols)} only; the vector kernel uses this for its tail.
+     */
+    static void sumPresent(double[] column, int symbols, int fromRow, int toRow,
+                           double[] sums, int[] counts, int fromSymbol) {
+        for (int s = fromSymbol; s < symbols; s++) {
+            sums[s] = 0;
+            counts[s] = 0;
+        }
+        for (int row = fromRow; row < toRow; row++) {
+            int base = row * symbols;
+            for (int s = fromSymbol; s < symbols; s++) {
+                double value = column[base + s];
+                if (!Double.isNaN(value)) {
+                    sums[s] += value;
+                    counts[s]++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void gainLoss(double[] column, int symbols, int fromRow, int toRow, double[] gains, double[] losses) {
+        gainLoss(column, symbols, fromRow, toRow, gains, losses, 0);
+    }
+
+    static void gainLoss(double[] column, int symbols, int fromRow, int toRow,
+                         double[] gains, double[] losses, int fromSymbol) {
+        for (int s = fromSymbol; s < symbols; s++) {
+            gains[s] = 0;
+            losses[s] = 0;
+        }
+        for (int row = fromRow; row < toRow; row++) {
+            int base = row * symbols;
+            int prevBase = base - symbols;
+            for (int s = fromSymbol; s < symbols; s++) {
+                double current = column[base + s];
+                double previous = column[prevBase + s];
+                if (Double.isNaN(current) || Double.isNaN(previous)) {
+                    continue;
+                }
+                double change = current - previous;
+                if (change > 0) {
+                    gains[s] += change;
+                } else {
+                    losses[s] += Math.abs(change);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,72 @@
+package com.trading.scanner.service.indicators;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link CrossSectionalKernel} on {@code jdk.incubator.vector}, one lane per symbol.
+ *
+ * Masked adds leave a lane untouched where the scalar path would skip the value, so each
+ * lane performs exactly the additions the scalar loop performs, in the same order.
+ * Symbols past the last full vector are handled by {@link ScalarCrossSectionalKernel}.
+ *
+ * Only instantiated reflectively by {@link CrossSectionalIndicatorEngine} once the module
+ * is known to be present; the JVM needs {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorCrossSectionalKernel implements CrossSectionalKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void sumPresent(double[] column, int symbols, int fromRow, int toRow, double[] sums, int[] counts) {
+        int bound = SPECIES.loopBound(symbols);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+
+        for (int s = 0; s < bound; s += SPECIES.length()) {
+            DoubleVector sum = DoubleVector.zero(SPECIES);
+            DoubleVector count = DoubleVector.zero(SPECIES);
+            for (int row = fromRow; row < toRow; row++) {
+                DoubleVector value = DoubleVector.fromArray(SPECIES, column, row * symbols + s);
+                VectorMask<Double> present = value.compare(VectorOperators.EQ, value);
+                sum = sum.add(value, present);
+                count = count.add(one, present);
+            }
+            sum.intoArray(sums, s);
+            for (int lane = 0; lane < SPECIES.length(); lane++) {
+                counts[s + lane] = (int) count.lane(lane);
+            }
+        }
+        ScalarCrossSectionalKernel.sumPresent(column, symbols, fromRow, toRow, sums, counts, bound);
+    }
+
+    @Override
+    public void gainLoss(double[] column, int symbols, int fromRow, int toRow, double[] gains, double[] losses) {
+        int bound = SPECIES.loopBound(symbols);
+
+        for (int s = 0; s < bound; s += SPECIES.length()) {
+            DoubleVector gain = DoubleVector.zero(SPECIES);
+            DoubleVector loss = DoubleVector.zero(SPECIES);
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, column, (fromRow - 1) * symbols + s);
+            for (int row = fromRow; row < toRow; row++) {
+                DoubleVector current = DoubleVector.fromArray(SPECIES, column, row * symbols + s);
+                VectorMask<Double> present = current.compare(VectorOperators.EQ, current)
+                    .and(previous.compare(VectorOperators.EQ, previous));
+                DoubleVector change = current.sub(previous);
+                VectorMask<Double> up = change.compare(VectorOperators.GT, 0.0);
+                gain = gain.add(change, present.and(up));
+                loss = loss.add(change.abs(), present.andNot(up));
+                previous = current;
+            }
+            gain.intoArray(gains, s);
+            loss.intoArray(losses, s);
+        }
+        ScalarCrossSectionalKernel.gainLoss(column, symbols, fromRow, toRow, gains, losses, bound);
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + "x64)";
+    }
+}
@@ -0,0 +1,122 @@
+package com.trading.scanner.service.metrics;
+
+import com.trading.scanner.service.indicators.IndicatorMode;
+import com.trading.scanner.service.provider.ProviderCircuitBreaker.CircuitState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Central registry of the scanner's Micrometer meters, exposed through the actuator
+ * Prometheus endpoint.
+ *
+ * Meters are resolved once and cached per tag value, so recording on the scan hot path
+ * is a map lookup and an atomic update rather than a builder call.
+ */
+@Component
+public class ScannerMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Timer scanTimer;
+    private final Counter symbolsScanned;
+    private final Counter providerRetries;
+    private final DistributionSummary outcomeCandidates;
+    private final DistributionSummary outcomesInserted;
+    private final Counter barsIngested;
+
+    private final ConcurrentMap<String, Timer> ruleTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> signalCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> preFilterRejections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<IndicatorMode, Timer> indicatorTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> circuitTransitions = new ConcurrentHashMap<>();
+
+    public ScannerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.scanTimer = Timer.builder("scanner.scan.duration")
+            .description("Wall time of a full scan for one date")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.symbolsScanned = Counter.builder("scanner.symbols.scanned")
+            .description("Symbols evaluated by scans")
+            .register(registry);
+        this.providerRetries = Counter.builder("provider.retries")
+            .description("Provider fetches retried after a transient failure")
+            .register(registry);
+        this.outcomeCandidates = DistributionSummary.builder("outcomes.batch.candidates")
+            .description("Signals considered per forward-return batch")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.outcomesInserted = DistributionSummary.builder("outcomes.batch.inserted")
+            .description("Outcome rows inserted per forward-return batch")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.barsIngested = Counter.builder("ingestion.bars.written")
+            .description("Price bars written by bulk ingestion")
+            .register(registry);
+    }
+
+    public void recordScan(long nanos, int scanned) {
+        scanTimer.record(nanos, TimeUnit.NANOSECONDS);
+        symbolsScanned.increment(scanned);
+    }
+
+    public void recordIndicators(IndicatorMode mode, long nanos) {
+        indicatorTimers.computeIfAbsent(mode, key -> Timer.builder("scanner.indicators.duration")
+                .description("Per-symbol indicator calculation time")
+                .tag("mode", key.name())
+                .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRuleEvaluation(String ruleName, long nanos, boolean matched) {
+        ruleTimers.computeIfAbsent(ruleName, key -> Timer.builder("scanner.rule.evaluation")
+                .description("Per-symbol rule evaluation time")
+                .tag("rule", key)
+                .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+        if (matched) {
+            signalCounters.computeIfAbsent(ruleName, key -> Counter.builder("scanner.signals")
+                    .description("Signals generated")
+                    .tag("rule", key)
+                    .register(registry))
+                .increment();
+        }
+    }
+
+    public void recordPreFilterRejection(String ruleName) {
+        preFilterRejections.computeIfAbsent(ruleName, key -> Counter.builder("scanner.rule.prefiltered")
+                .description("Symbols rejected by a rule's pre-filter before indicators were computed")
+                .tag("rule", key)
+                .register(registry))
+            .increment();
+    }
+
+    public void recordProviderRetry() {
+        providerRetries.increment();
+    }
+
+    public void recordCircuitTransition(CircuitState from, CircuitState to) {
+        circuitTransitions.computeIfAbsent(from.name() + "->" + to.name(), key -> Counter.builder("provider.circuit.transitions")
+                .description("Provider circuit breaker state changes")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(registry))
+            .increment();
+    }
+
+    public void recordOutcomeBatch(int candidates, int inserted) {
+        outcomeCandidates.record(candidates);
+        outcomesInserted.record(inserted);
+    }
+
+    public void recordBarsIngested(long bars) {
+        barsIngested.increment(bars);
+    }
+}
@@ -0,0 +1,65 @@
+package com.trading.scanner.service.provider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token bucket for outbound provider requests.
+ *
+ * Each host earns one token every {@code provider.rateLimitMs} and can hold up to
+ * {@code provider.rateLimit.burst} tokens. Callers reserve a token and are told how long to
+ * wait before sending, so async pipelines can schedule the request instead of sleeping.
+ */
+@Component
+public class HostRateLimiter {
+
+    @Value("${provider.rateLimitMs:500}")
+    private long rateLimitMs;
+
+    @Value("${provider.rateLimit.burst:1}")
+    private int burst;
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves one request slot for the host.
+     *
+     * @return nanoseconds the caller must wait before sending; 0 if it may send immediately.
+     */
+    public long reserve(String host) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(rateLimitMs);
+        if (intervalNanos <= 0) {
+            return 0;
+        }
+        Bucket bucket = buckets.computeIfAbsent(host, key -> new Bucket(Math.max(1, burst), System.nanoTime()));
+        return bucket.reserve(intervalNanos, System.nanoTime());
+    }
+
+    /**
+     * Tokens may go negative: each reservation past an empty bucket queues behind the ones
+     * before it and waits one more interval.
+     */
+    private static final class Bucket {
+
+        private final int capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(int capacity, long now) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        synchronized long reserve(long intervalNanos, long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) / intervalNanos);
+            lastRefillNanos = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens * intervalNanos);
+        }
+    }
+}
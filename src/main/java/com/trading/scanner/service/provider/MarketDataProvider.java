@@ -4,11 +4,26 @@ import com.trading.scanner.model.StockPrice;
 import com.trading.scanner.model.StockUniverse;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface MarketDataProvider {
     
     List<StockPrice> fetchHistoricalData(StockUniverse stock, LocalDate startDate, LocalDate endDate) 
         throws DataProviderException;
+
+    /**
+     * Asynchronous variant of {@link #fetchHistoricalData}. A failed fetch completes the
+     * future exceptionally with a {@link DataProviderException}. The default runs the
+     * blocking call on the caller's thread.
+     */
+    default CompletableFuture<List<StockPrice>> fetchHistoricalDataAsync(StockUniverse stock, LocalDate startDate,
+                                                                         LocalDate endDate) {
+        try {
+            return CompletableFuture.completedFuture(fetchHistoricalData(stock, startDate, endDate));
+        } catch (DataProviderException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
     
     StockPrice fetchLatestData(StockUniverse stock) throws DataProviderException;
     
@@ -1,6 +1,7 @@
 package com.trading.scanner.service.provider;
 
 import com.trading.scanner.config.TimeProvider;
+import com.trading.scanner.service.metrics.ScannerMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +16,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class ProviderCircuitBreaker {
 
     private final TimeProvider timeProvider;
+    private final ScannerMetrics metrics;
 
     @Value("${provider.circuitBreaker.failureThreshold:5}")
     private int failureThreshold;
@@ -42,6 +44,7 @@ public class ProviderCircuitBreaker {
             if (openedAt != null &&
                 timeProvider.nowDateTime().isAfter(openedAt.plusMinutes(cooldownMinutes))) {
                 if (state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+                    metrics.recordCircuitTransition(CircuitState.OPEN, CircuitState.HALF_OPEN);
                     log.info("Circuit breaker entering HALF_OPEN state");
                     return true;
                 }
@@ -58,6 +61,7 @@ public class ProviderCircuitBreaker {
         CircuitState previousState = state.getAndSet(CircuitState.CLOSED);
         
         if (previousState != CircuitState.CLOSED) {
+            metrics.recordCircuitTransition(previousState, CircuitState.CLOSED);
             log.info("Circuit breaker CLOSED - provider recovered");
             circuitOpenedAt.set(null);
         }
@@ -67,8 +71,9 @@ public class ProviderCircuitBreaker {
         int failures = consecutiveFailures.incrementAndGet();
         
         if (failures >= failureThreshold && state.get() != CircuitState.OPEN) {
-            if (state.compareAndSet(CircuitState.CLOSED, CircuitState.OPEN) ||
-                state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.OPEN)) {
+            CircuitState previousState = state.get();
+            if (previousState != CircuitState.OPEN && state.compareAndSet(previousState, CircuitState.OPEN)) {
+                metrics.recordCircuitTransition(previousState, CircuitState.OPEN);
                 
                 LocalDateTime now = timeProvider.nowDateTime();
                 circuitOpenedAt.set(now);
@@ -4,12 +4,17 @@ import com.trading.scanner.aop.SimulationExit;
 import com.trading.scanner.config.ExchangeConfiguration;
 import com.trading.scanner.model.StockPrice;
 import com.trading.scanner.model.StockUniverse;
+import com.trading.scanner.service.metrics.ScannerMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -19,6 +24,7 @@ public class ProviderRetryService {
     private final MarketDataProvider provider;
     private final ProviderCircuitBreaker circuitBreaker;
     private final ExchangeConfiguration config;
+    private final ScannerMetrics metrics;
     private final Random random = new Random();
     
     public ProviderResult<List<StockPrice>> fetchHistoricalDataWithRetry(
@@ -52,6 +58,7 @@ public class ProviderRetryService {
                 circuitBreaker.recordFailure();
                 
                 if (attempt < maxAttempts) {
+                    metrics.recordProviderRetry();
                     long backoff = baseBackoffMs * (1L << (attempt - 1));
                     long jitter = random.nextLong(jitterMaxMs + 1);
                     long sleepTime = backoff + jitter;
@@ -69,6 +76,63 @@ public class ProviderRetryService {
         return ProviderResult.failure(lastException);
     }
     
+    /**
+     * Non-blocking counterpart of {@link #fetchHistoricalDataWithRetry}. Same retry,
+     * backoff and circuit-breaker rules, but backoff is scheduled on a delayed executor
+     * instead of sleeping a thread. The returned future always completes normally.
+     */
+    public CompletableFuture<ProviderResult<List<StockPrice>>> fetchHistoricalDataAsyncWithRetry(
+            StockUniverse stock, LocalDate startDate, LocalDate endDate) {
+        return attemptAsync(stock, startDate, endDate, 1);
+    }
+
+    private CompletableFuture<ProviderResult<List<StockPrice>>> attemptAsync(
+            StockUniverse stock, LocalDate startDate, LocalDate endDate, int attempt) {
+
+        if (!circuitBreaker.isCallAllowed()) {
+            return CompletableFuture.completedFuture(ProviderResult.circuitOpen());
+        }
+
+        CompletableFuture<List<StockPrice>> fetch;
+        try {
+            fetch = provider.fetchHistoricalDataAsync(stock, startDate, endDate);
+        } catch (RuntimeException e) {
+            fetch = CompletableFuture.failedFuture(e);
+        }
+
+        return fetch
+            .handle((prices, error) -> {
+                if (error == null) {
+                    circuitBreaker.recordSuccess();
+                    return CompletableFuture.completedFuture(ProviderResult.success(prices));
+                }
+
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                Exception exception = cause instanceof Exception e ? e : new CompletionException(cause);
+
+                if (cause instanceof SymbolNotFoundException) {
+                    log.warn("Symbol not found for {}. No retries will be attempted.", stock.getSymbol());
+                    return CompletableFuture.completedFuture(ProviderResult.<List<StockPrice>>failure(exception));
+                }
+
+                // Only systemic/transient failures reach here
+                circuitBreaker.recordFailure();
+
+                if (attempt >= config.getProviderRetryMaxAttempts()) {
+                    return CompletableFuture.completedFuture(ProviderResult.<List<StockPrice>>failure(exception));
+                }
+
+                metrics.recordProviderRetry();
+                long backoff = config.getProviderRetryBaseBackoffMs() * (1L << (attempt - 1));
+                long jitter = ThreadLocalRandom.current().nextLong(config.getProviderRetryJitterMaxMs() + 1);
+                return CompletableFuture
+                    .supplyAsync(() -> null, CompletableFuture.delayedExecutor(backoff + jitter, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attemptAsync(stock, startDate, endDate, attempt + 1));
+            })
+            .thenCompose(result -> result);
+    }
+    
     public static class ProviderResult<T> {
         private final T data;
         private final boolean success;
@@ -0,0 +1,158 @@
+package com.trading.scanner.service.provider;
+
+import com.trading.scanner.model.StockPrice;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Decoded Yahoo chart payload held in primitive columns.
+ *
+ * Prices that were null or absent are {@code NaN}. Volume distinguishes a JSON null
+ * (decoded as 0, as the tree-based parser did) from a missing entry ({@link #MISSING_VOLUME}).
+ */
+public final class YahooChart {
+
+    /** Sentinel for a bar whose volume array entry does not exist. */
+    public static final long MISSING_VOLUME = Long.MIN_VALUE;
+
+    private final String errorDescription;
+    private final boolean hasResult;
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] adjClose;
+    private final long[] volume;
+
+    YahooChart(String errorDescription, boolean hasResult, long[] timestamps, double[] open, double[] high,
+               double[] low, double[] close, double[] adjClose, long[] volume) {
+        this.errorDescription = errorDescription;
+        this.hasResult = hasResult;
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.adjClose = adjClose;
+        this.volume = volume;
+    }
+
+    /** The {@code chart.error.description} reported by Yahoo, or null if there was no error. */
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+
+    public boolean hasResult() {
+        return hasResult;
+    }
+
+    /** Number of timestamps in the first result. */
+    public int size() {
+        return timestamps.length;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(timestamps[index] / 86400);
+    }
+
+    public double open(int index) {
+        return valueAt(open, index);
+    }
+
+    public double high(int index) {
+        return valueAt(high, index);
+    }
+
+    public double low(int index) {
+        return valueAt(low, index);
+    }
+
+    public double close(int index) {
+        return valueAt(close, index);
+    }
+
+    public double adjClose(int index) {
+        return valueAt(adjClose, index);
+    }
+
+    public long volume(int index) {
+        return index < volume.length ? volume[index] : MISSING_VOLUME;
+    }
+
+    private static double valueAt(double[] column, int index) {
+        return index < column.length ? column[index] : Double.NaN;
+    }
+
+    /**
+     * Read-only view of the usable bars as {@link StockPrice} rows, applying the provider's
+     * rules: bars without a (non-zero) close are dropped, a missing adjusted close falls back
+     * to close, and volume is clamped to the {@code Integer} range. Elements are built on
+     * access, so the view costs nothing until a caller reads it.
+     */
+    public List<StockPrice> asStockPrices(String symbol) {
+        int[] kept = new int[timestamps.length];
+        int count = 0;
+        for (int i = 0; i < timestamps.length; i++) {
+            double c = close(i);
+            // Skip if no close price (likely invalid data)
+            if (!Double.isNaN(c) && c != 0.0) {
+                kept[count++] = i;
+            }
+        }
+        return new StockPriceView(symbol, Arrays.copyOf(kept, count));
+    }
+
+    private StockPrice toStockPrice(String symbol, int index) {
+        double adj = adjClose(index);
+        return StockPrice.builder()
+                .symbol(symbol)
+                .date(date(index))
+                .openPrice(boxed(open(index)))
+                .highPrice(boxed(high(index)))
+                .lowPrice(boxed(low(index)))
+                .closePrice(close(index))
+                .adjClose(Double.isNaN(adj) ? close(index) : adj) // Fallback to close if no adj_close
+                .volume(clampVolume(volume(index)))
+                .build();
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    static Integer clampVolume(long value) {
+        if (value == MISSING_VOLUME) {
+            return null;
+        }
+        if (value > Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return value < 0 ? 0 : (int) value;
+    }
+
+    private final class StockPriceView extends AbstractList<StockPrice> implements RandomAccess {
+
+        private final String symbol;
+        private final int[] indexes;
+
+        private StockPriceView(String symbol, int[] indexes) {
+            this.symbol = symbol;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public StockPrice get(int index) {
+            return toStockPrice(symbol, indexes[index]);
+        }
+
+        @Override
+        public int size() {
+            return indexes.length;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.trading.scanner.service.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming decoder for the Yahoo v8 chart response.
+ *
+ * Reads tokens straight from the response stream into primitive columns, without
+ * buffering the body as a String or building a {@code JsonNode} tree. Only the first
+ * element of {@code chart.result} is decoded; everything else is skipped.
+ */
+public final class YahooChartDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public YahooChartDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public YahooChart decode(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            Builder builder = new Builder();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("chart".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readChart(parser, builder);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private void readChart(JsonParser parser, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("error".equals(field) && token == JsonToken.START_OBJECT) {
+                builder.errorDescription = readErrorDescription(parser);
+            } else if ("result".equals(field) && token == JsonToken.START_ARRAY) {
+                readResults(parser, builder);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private String readErrorDescription(JsonParser parser) throws IOException {
+        String description = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("description".equals(field) && parser.currentToken().isScalarValue()) {
+                description = parser.getValueAsString("");
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return description;
+    }
+
+    private void readResults(JsonParser parser, Builder builder) throws IOException {
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                builder.hasResult = true;
+                readResult(parser, builder);
+            } else {
+                parser.skipChildren();
+            }
+            first = false;
+        }
+    }
+
+    private void readResult(JsonParser parser, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("timestamp".equals(field) && token == JsonToken.START_ARRAY) {
+                builder.timestamps = readLongs(parser, 0L);
+            } else if ("indicators".equals(field) && token == JsonToken.START_OBJECT) {
+                readIndicators(parser, builder);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readIndicators(JsonParser parser, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("quote".equals(field) && token == JsonToken.START_ARRAY) {
+                readFirstObject(parser, builder, true);
+            } else if ("adjclose".equals(field) && token == JsonToken.START_ARRAY) {
+                readFirstObject(parser, builder, false);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFirstObject(JsonParser parser, Builder builder, boolean quote) throws IOException {
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                if (quote) {
+                    readQuote(parser, builder);
+                } else {
+                    readAdjClose(parser, builder);
+                }
+            } else {
+                parser.skipChildren();
+            }
+            first = false;
+        }
+    }
+
+    private void readQuote(JsonParser parser, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "open" -> builder.open = readDoubles(parser);
+                case "high" -> builder.high = readDoubles(parser);
+                case "low" -> builder.low = readDoubles(parser);
+                case "close" -> builder.close = readDoubles(parser);
+                // A null volume entry reads as 0, matching JsonNode#asLong on a null node
+                case "volume" -> builder.volume = readLongs(parser, 0L);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readAdjClose(JsonParser parser, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "adjclose".equals(field)) {
+                builder.adjClose = readDoubles(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static double[] readDoubles(JsonParser parser) throws IOException {
+        double[] values = new double[256];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                values[size++] = Double.NaN;
+            } else if (token.isScalarValue()) {
+                values[size++] = parser.getValueAsDouble();
+            } else {
+                parser.skipChildren();
+                values[size++] = Double.NaN;
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static long[] readLongs(JsonParser parser, long nullValue) throws IOException {
+        long[] values = new long[256];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                values[size++] = nullValue;
+            } else if (token.isScalarValue()) {
+                values[size++] = parser.getValueAsLong();
+            } else {
+                parser.skipChildren();
+                values[size++] = nullValue;
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static final class Builder {
+
+        private static final double[] NO_DOUBLES = new double[0];
+
+        private String errorDescription;
+        private boolean hasResult;
+        private long[] timestamps = new long[0];
+        private double[] open = NO_DOUBLES;
+        private double[] high = NO_DOUBLES;
+        private double[] low = NO_DOUBLES;
+        private double[] close = NO_DOUBLES;
+        private double[] adjClose = NO_DOUBLES;
+        private long[] volume = new long[0];
+
+        YahooChart build() {
+            return new YahooChart(errorDescription, hasResult, timestamps, open, high, low, close, adjClose, volume);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.trading.scanner.service.provider;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trading.scanner.aop.SimulationExit;
 import com.trading.scanner.config.TimeProvider;
@@ -11,14 +10,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Yahoo Finance Provider - Direct HTTP Implementation
@@ -34,120 +37,138 @@ public class YahooFinanceProvider implements MarketDataProvider {
 
     private static final String YAHOO_API_URL = "https://query1.finance.yahoo.com/v8/finance/chart/";
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final YahooChartDecoder chartDecoder;
     private final TimeProvider timeProvider;
+    private final HostRateLimiter rateLimiter;
 
-    public YahooFinanceProvider(ObjectMapper objectMapper, TimeProvider timeProvider) {
+    public YahooFinanceProvider(ObjectMapper objectMapper, TimeProvider timeProvider, HostRateLimiter rateLimiter) {
         this.httpClient = HttpClient.newBuilder()
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
-        this.objectMapper = objectMapper;
+        this.chartDecoder = new YahooChartDecoder(objectMapper.getFactory());
         this.timeProvider = timeProvider;
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
     public List<StockPrice> fetchHistoricalData(StockUniverse stock, LocalDate startDate, LocalDate endDate)
             throws DataProviderException {
-        String yahooSymbol = formatTicker(stock.getSymbol(), stock.getExchange());
         try {
-            // Convert dates to Unix timestamps
-            long period1 = startDate.atStartOfDay(ZoneId.of("UTC")).toEpochSecond();
-            long period2 = endDate.atTime(23, 59, 59).atZone(ZoneId.of("UTC")).toEpochSecond();
-
-            // Build URL
-            String url = String.format("%s%s?period1=%d&period2=%d&interval=1d&includeAdjustedClose=true",
-                    YAHOO_API_URL, yahooSymbol, period1, period2);
-
             log.debug("Fetching data for {}: {} to {}", stock.getSymbol(), startDate, endDate);
 
-            // Make HTTP request
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("User-Agent", "Mozilla/5.0")
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 404) {
-                throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
-            }
-
-            if (response.statusCode() != 200) {
-                throw new DataProviderException(
-                        String.format("Yahoo Finance API returned status %d for %s", response.statusCode(), stock.getSymbol())
-                );
-            }
-
-            // Parse JSON response
-            JsonNode root = objectMapper.readTree(response.body());
-
-            // Check for errors
-            if (root.has("chart") && root.get("chart").has("error") &&
-                    !root.get("chart").get("error").isNull()) {
-                String error = root.get("chart").get("error").get("description").asText();
-                log.error("Yahoo Finance error for {}: {}", stock.getSymbol(), error);
-                throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
-            }
-
-            // Extract data
-            JsonNode result = root.path("chart").path("result");
-            if (result.isEmpty() || result.isNull() || result.get(0) == null) {
-                log.warn("No data returned for {} between {} and {}", stock.getSymbol(), startDate, endDate);
-                throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
-            }
-
-            JsonNode firstResult = result.get(0);
-            JsonNode timestamps = firstResult.path("timestamp");
-            JsonNode indicators = firstResult.path("indicators");
-            JsonNode quote = indicators.path("quote").get(0);
-            JsonNode adjclose = indicators.path("adjclose").get(0).path("adjclose");
-
-            if (timestamps.isEmpty() || timestamps.isNull() || timestamps.size() == 0) {
-                log.warn("No timestamps for {} between {} and {}", stock.getSymbol(), startDate, endDate);
-                throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
-            }
-
-            // Build price list
-            List<StockPrice> prices = new ArrayList<>();
-            for (int i = 0; i < timestamps.size(); i++) {
-                long timestamp = timestamps.get(i).asLong();
-                LocalDate date = LocalDate.ofEpochDay(timestamp / 86400);
-
-                // Extract OHLCV data
-                Double open = getDoubleValue(quote.path("open"), i);
-                Double high = getDoubleValue(quote.path("high"), i);
-                Double low = getDoubleValue(quote.path("low"), i);
-                Double close = getDoubleValue(quote.path("close"), i);
-                Integer volume = getLongValue(quote.path("volume"), i);
-                Double adjClose = getDoubleValue(adjclose, i);
-
-                // Skip if no close price (likely invalid data)
-                if (close == null || close == 0.0) {
-                    continue;
-                }
-
-                StockPrice price = StockPrice.builder()
-                        .symbol(stock.getSymbol()) // Use original symbol
-                        .date(date)
-                        .openPrice(open)
-                        .highPrice(high)
-                        .lowPrice(low)
-                        .closePrice(close)
-                        .adjClose(adjClose != null ? adjClose : close) // Fallback to close if no adj_close
-                        .volume(volume)
-                        .build();
-                prices.add(price);
-            }
-
-            log.debug("Fetched {} prices for {}", prices.size(), stock.getSymbol());
-            return prices;
+            HttpResponse<InputStream> response = httpClient.send(
+                    buildChartRequest(stock, startDate, endDate), HttpResponse.BodyHandlers.ofInputStream());
+
+            return parseChartResponse(stock, startDate, endDate, response);
 
         } catch (IOException | InterruptedException e) {
             throw new DataProviderException("Failed to fetch data for " + stock.getSymbol() + ": " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Non-blocking variant used by bulk ingestion. The request is paced by the per-host
+     * {@link HostRateLimiter} and sent with {@link HttpClient#sendAsync}; failures complete
+     * the future exceptionally with a {@link DataProviderException}.
+     */
+    @Override
+    public CompletableFuture<List<StockPrice>> fetchHistoricalDataAsync(StockUniverse stock, LocalDate startDate,
+                                                                        LocalDate endDate) {
+        HttpRequest request = buildChartRequest(stock, startDate, endDate);
+        long delayNanos = rateLimiter.reserve(request.uri().getHost());
+
+        log.debug("Fetching data for {} asynchronously: {} to {} (delay {} ms)",
+                stock.getSymbol(), startDate, endDate, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+
+        Executor sendExecutor = delayNanos > 0
+                ? CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                : Runnable::run;
+
+        return CompletableFuture.supplyAsync(() -> request, sendExecutor)
+                .thenCompose(r -> httpClient.sendAsync(r, HttpResponse.BodyHandlers.ofInputStream()))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        throw new CompletionException(new DataProviderException(
+                                "Failed to fetch data for " + stock.getSymbol() + ": " + cause.getMessage(), cause));
+                    }
+                    try {
+                        return parseChartResponse(stock, startDate, endDate, response);
+                    } catch (IOException e) {
+                        throw new CompletionException(new DataProviderException(
+                                "Failed to fetch data for " + stock.getSymbol() + ": " + e.getMessage(), e));
+                    } catch (DataProviderException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private HttpRequest buildChartRequest(StockUniverse stock, LocalDate startDate, LocalDate endDate) {
+        String yahooSymbol = formatTicker(stock.getSymbol(), stock.getExchange());
+
+        // Convert dates to Unix timestamps
+        long period1 = startDate.atStartOfDay(ZoneId.of("UTC")).toEpochSecond();
+        long period2 = endDate.atTime(23, 59, 59).atZone(ZoneId.of("UTC")).toEpochSecond();
+
+        // Build URL
+        String url = String.format("%s%s?period1=%d&period2=%d&interval=1d&includeAdjustedClose=true",
+                YAHOO_API_URL, yahooSymbol, period1, period2);
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("User-Agent", "Mozilla/5.0")
+                .GET()
+                .build();
+    }
+
+    private List<StockPrice> parseChartResponse(StockUniverse stock, LocalDate startDate, LocalDate endDate,
+                                                HttpResponse<InputStream> response)
+            throws DataProviderException, IOException {
+        if (response.statusCode() != 200) {
+            // Release the connection without reading the body
+            response.body().close();
+        }
+
+        if (response.statusCode() == 404) {
+            throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
+        }
+
+        if (response.statusCode() != 200) {
+            throw new DataProviderException(
+                    String.format("Yahoo Finance API returned status %d for %s", response.statusCode(), stock.getSymbol())
+            );
+        }
+
+        // Decode the body as it streams in
+        YahooChart chart;
+        try (InputStream body = response.body()) {
+            chart = chartDecoder.decode(body);
+        }
+
+        // Check for errors
+        if (chart.getErrorDescription() != null) {
+            log.error("Yahoo Finance error for {}: {}", stock.getSymbol(), chart.getErrorDescription());
+            throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
+        }
+
+        if (!chart.hasResult()) {
+            log.warn("No data returned for {} between {} and {}", stock.getSymbol(), startDate, endDate);
+            throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
+        }
+
+        if (chart.size() == 0) {
+            log.warn("No timestamps for {} between {} and {}", stock.getSymbol(), startDate, endDate);
+            throw new SymbolNotFoundException(stock.getSymbol(), stock.getExchange());
+        }
+
+        // Rows are materialised lazily from the decoded columns
+        List<StockPrice> prices = chart.asStockPrices(stock.getSymbol()); // Use original symbol
+
+        log.debug("Fetched {} prices for {}", prices.size(), stock.getSymbol());
+        return prices;
+    }
+
     @Override
     public StockPrice fetchLatestData(StockUniverse stock) throws DataProviderException {
         LocalDate today = timeProvider.today();
@@ -180,32 +201,4 @@ public class YahooFinanceProvider implements MarketDataProvider {
             case NSE -> symbol + ".NS";
         };
     }
-
-    /**
-     * Safely extract double value from JSON array at index
-     */
-    private Double getDoubleValue(JsonNode array, int index) {
-        if (array == null || array.isNull() || index >= array.size()) {
-            return null;
-        }
-        JsonNode node = array.get(index);
-        return (node == null || node.isNull()) ? null : node.asDouble();
-    }
-
-    /**
-     * Safely extract integer value from JSON array at index
-     */
-    private Integer getLongValue(JsonNode array, int index) {
-        if (array == null || array.isNull() || index >= array.size()) {
-            return null;
-        }
-        JsonNode node = array.get(index);
-        long value = (node == null || node.isNull()) ? 0L : node.asLong();
-        if (value > Integer.MAX_VALUE) {
-            log.warn("Volume value {} exceeds Integer.MAX_VALUE. It will be clamped.", value);
-            return Integer.MAX_VALUE;
-        }
-        if (value < 0) return 0;
-        return (int) value;
-    }
-}
\ No newline at end of file
+}
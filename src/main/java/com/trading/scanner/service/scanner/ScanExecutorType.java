@@ -0,0 +1,11 @@
+package com.trading.scanner.service.scanner;
+
+/**
+ * Executor used by the parallel scan mode ({@code scanner.parallel.executor}).
+ */
+public enum ScanExecutorType {
+    /** One virtual thread per symbol, bounded by {@code scanner.parallel.maxConcurrency}. */
+    VIRTUAL,
+    /** A dedicated fork-join pool with {@code scanner.parallel.maxConcurrency} workers. */
+    FORK_JOIN
+}
@@ -2,18 +2,30 @@ package com.trading.scanner.service.scanner;
 
 import com.trading.scanner.config.BreakoutRuleProperties;
 import com.trading.scanner.config.ExchangeConfiguration;
+import com.trading.scanner.model.ScanExecutionState;
 import com.trading.scanner.model.ScanResult;
 import com.trading.scanner.model.ScannerRun;
 import com.trading.scanner.model.StockPrice;
 import com.trading.scanner.model.StockUniverse;
 import com.trading.scanner.repository.ScanResultRepository;
 import com.trading.scanner.repository.ScannerRunRepository;
-import com.trading.scanner.repository.StockPriceRepository;
 import com.trading.scanner.repository.StockUniverseRepository;
+import com.trading.scanner.service.PendingOutcomeQueue;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.data.PriceSeriesStore;
+import com.trading.scanner.service.indicators.CrossSectionalIndicatorEngine;
+import com.trading.scanner.service.indicators.IncrementalIndicatorEngine;
+import com.trading.scanner.service.indicators.Indicator;
 import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.indicators.IndicatorMode;
 import com.trading.scanner.service.indicators.IndicatorService;
+import com.trading.scanner.service.indicators.LazyIndicatorBundle;
 import com.trading.scanner.service.indicators.parameters.IndicatorParameters;
+import com.trading.scanner.service.metrics.ScannerMetrics;
+import com.trading.scanner.service.scanner.rules.RuleEvaluation;
 import com.trading.scanner.service.scanner.rules.ScannerRule;
+import com.trading.scanner.service.scanner.trace.ScanTraceRecorder;
+import com.trading.scanner.service.scanner.trace.TraceDecision;
 import com.trading.scanner.service.state.ExecutionStateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,27 +35,63 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScannerEngine {
+
+    private static final Comparator<ScanResult> RESULT_ORDER =
+        Comparator.comparing(ScanResult::getSymbol).thenComparing(ScanResult::getRuleName);
     
     private final List<ScannerRule> rules;
-    private final StockPriceRepository priceRepository;
+    private final PriceSeriesStore priceSeriesStore;
     private final StockUniverseRepository universeRepository;
     private final ScanResultRepository resultRepository;
     private final ScannerRunRepository runRepository;
     private final IndicatorService indicatorService;
+    private final IncrementalIndicatorEngine incrementalIndicatorEngine;
+    private final CrossSectionalIndicatorEngine crossSectionalIndicatorEngine;
     private final ExecutionStateService executionStateService;
     private final ExchangeConfiguration config;
+    private final ScannerMetrics metrics;
+    private final ScanTraceRecorder traceRecorder;
+    private final PendingOutcomeQueue pendingOutcomeQueue;
     // NOTE: This creates a temporary coupling. A future refactor might introduce a
     // parameter resolution service if more rules with different properties are added.
     private final BreakoutRuleProperties breakoutRuleProperties;
     
     @Value("${app.version}")
     private String scannerVersion;
+
+    @Value("${scanner.indicators.mode:BATCH}")
+    private IndicatorMode indicatorMode;
+
+    @Value("${scanner.indicators.lazy:true}")
+    private boolean lazyIndicators;
+
+    @Value("${scanner.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${scanner.parallel.executor:VIRTUAL}")
+    private ScanExecutorType parallelExecutor;
+
+    @Value("${scanner.parallel.maxConcurrency:8}")
+    private int maxConcurrency;
     
     @Transactional
     public void executeDailyScan() {
@@ -60,6 +108,102 @@ public class ScannerEngine {
         executeScanLogic(scanDate);
     }
 
+    /**
+     * Backfills every scannable date in {@code [from, to]} in one pass. Dates qualify on the
+     * same terms as {@link #executeScanForDate}: ingestion succeeded with data and the date
+     * has not been scanned yet.
+     *
+     * Each symbol's series is resolved once, through {@code to}; dates are then evaluated
+     * oldest first against windows over that series, so no further queries are issued and
+     * INCREMENTAL indicator state slides forward one bar per date. Results, runs and
+     * execution states are written together at the end.
+     */
+    @Transactional
+    public RangeScanSummary scanDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start " + from + " is after end " + to);
+        }
+        long rangeStart = System.currentTimeMillis();
+
+        List<ScanExecutionState> states = executionStateService.findScannableStates(from, to);
+        if (states.isEmpty()) {
+            log.info("Range scan {}..{}: no scannable dates", from, to);
+            return new RangeScanSummary(0, 0, 0, System.currentTimeMillis() - rangeStart);
+        }
+        executionStateService.startScans(states);
+
+        List<StockUniverse> activeStocks = universeRepository.findByIsActiveTrue();
+        List<PriceSeries> universe = new ArrayList<>(activeStocks.size());
+        for (StockUniverse stock : activeStocks) {
+            try {
+                universe.add(priceSeriesStore.getSeriesThrough(stock.getSymbol(), to));
+            } catch (Exception e) {
+                log.error("Error loading {} for range scan: {}", stock.getSymbol(), e.getMessage());
+            }
+        }
+
+        log.info("Range scan {}..{}: {} dates, {} symbols, {} rules",
+            from, to, states.size(), universe.size(), rules.size());
+
+        IndicatorParameters indicatorParameters = indicatorParameters();
+        List<ScanResult> allResults = new ArrayList<>();
+        List<ScannerRun> runs = new ArrayList<>(states.size());
+        Map<LocalDate, Integer> signalsByDate = new HashMap<>();
+
+        for (ScanExecutionState state : states) {
+            LocalDate scanDate = state.getTradingDate();
+            long scanStart = System.nanoTime();
+
+            List<SymbolWindow> windows = new ArrayList<>(universe.size());
+            for (PriceSeries series : universe) {
+                int end = series.endIndexThrough(scanDate);
+                if (end > 0) {
+                    windows.add(new SymbolWindow(series.getSymbol(), series, end, null));
+                }
+            }
+            if (indicatorMode == IndicatorMode.CROSS_SECTIONAL) {
+                windows = withCrossSectionalIndicators(windows, indicatorParameters);
+            }
+
+            List<ScanResult> results = parallelEnabled
+                ? evaluateParallel(windows, scanDate, indicatorParameters)
+                : evaluateSequential(windows, scanDate, indicatorParameters);
+            results.sort(RESULT_ORDER);
+            allResults.addAll(results);
+
+            runs.add(ScannerRun.builder()
+                .runDate(scanDate)
+                .stocksScanned(windows.size())
+                .stocksFlagged(results.size())
+                .status("SUCCESS")
+                .build());
+            signalsByDate.put(scanDate, results.size());
+            metrics.recordScan(System.nanoTime() - scanStart, windows.size());
+        }
+
+        if (!allResults.isEmpty()) {
+            resultRepository.saveAll(allResults);
+            pendingOutcomeQueue.enqueue(allResults);
+        }
+        runRepository.saveAll(runs);
+        executionStateService.completeScans(states, signalsByDate);
+
+        RangeScanSummary summary = new RangeScanSummary(states.size(), universe.size(), allResults.size(),
+            System.currentTimeMillis() - rangeStart);
+        log.info("Range scan {}..{} complete: {} dates, {} signals in {} ms",
+            from, to, summary.datesScanned(), summary.signals(), summary.elapsedMs());
+        return summary;
+    }
+
+    private IndicatorParameters indicatorParameters() {
+        return new IndicatorParameters(
+            breakoutRuleProperties.rsiPeriod(),
+            breakoutRuleProperties.smaShortPeriod(),
+            breakoutRuleProperties.smaMediumPeriod(),
+            breakoutRuleProperties.smaLongPeriod()
+        );
+    }
+
     private void executeScanLogic(LocalDate scanDate) {
         if (!executionStateService.canScanForDate(scanDate)) {
             log.info("Cannot scan for {} - either no data or already scanned", scanDate);
@@ -67,6 +211,7 @@ public class ScannerEngine {
         }
 
         executionStateService.startScanForDate(scanDate);
+        long scanStart = System.nanoTime();
 
         log.info("========================================");
         log.info("Starting Scan for {}", scanDate);
@@ -76,79 +221,44 @@ public class ScannerEngine {
 
         log.info("DEBUG_SCAN_SETUP rulesCount={} activeStocks={}", rules.size(), activeStocks.size());
 
-        int scannedCount = 0;
-        int flaggedCount = 0;
-        List<ScanResult> results = new ArrayList<>();
-
-        IndicatorParameters indicatorParameters = new IndicatorParameters(
-            breakoutRuleProperties.rsiPeriod(),
-            breakoutRuleProperties.smaShortPeriod(),
-            breakoutRuleProperties.smaMediumPeriod(),
-            breakoutRuleProperties.smaLongPeriod()
-        );
+        IndicatorParameters indicatorParameters = indicatorParameters();
 
+        // Series are resolved on the calling thread: catching the store up may query the
+        // database, which is bound to this thread's transaction. Evaluation is in-memory only.
+        List<SymbolWindow> windows = new ArrayList<>(activeStocks.size());
         for (StockUniverse stock : activeStocks) {
             try {
-                // Fetch prices up to and including the scan date
-                List<StockPrice> prices = priceRepository.findBySymbolAndDateLessThanEqualOrderByDateAsc(stock.getSymbol(), scanDate);
+                // Window of bars up to and including the scan date, served from the columnar store
+                PriceSeries series = priceSeriesStore.getSeriesThrough(stock.getSymbol(), scanDate);
+                int end = series.endIndexThrough(scanDate);
 
-                if (prices.isEmpty()) {
+                if (end == 0) {
                     log.debug("No price data for {}, skipping", stock.getSymbol());
                     continue;
                 }
-
-                scannedCount++;
-
-                log.info("DEBUG_EVAL symbol={} priceCount={}", stock.getSymbol(), prices.size());
-
-                String firstDate = prices.get(0).getDate() != null ?
-                    prices.get(0).getDate().toString() : "null";
-                String lastDate = prices.get(prices.size() - 1).getDate() != null ?
-                    prices.get(prices.size() - 1).getDate().toString() : "null";
-                log.info("DATE_DEBUG symbol={} firstDate={} lastDate={} size={}",
-                    stock.getSymbol(), firstDate, lastDate, prices.size());
-
-                IndicatorBundle indicators = indicatorService.calculateIndicators(prices, indicatorParameters);
-
-                log.info("DEBUG_INDICATORS symbol={} size={} hasRsi={} hasSma20={} hasAvgVol={}",
-                    stock.getSymbol(), prices.size(), indicators.hasRsi(), indicators.hasSma20(), indicators.hasAvgVolume());
-
-                for (ScannerRule rule : rules) {
-                    boolean ruleMatches = rule.matches(stock.getSymbol(), prices, indicators);
-                    if (ruleMatches) {
-                        log.info("DEBUG_RULE_MATCHED symbol={} rule={}", stock.getSymbol(), rule.getRuleName());
-
-                        Double confidence = rule.getConfidence(stock.getSymbol(), prices, indicators);
-                        String metadata = rule.getMetadata(stock.getSymbol(), prices, indicators);
-
-                        ScanResult result = ScanResult.builder()
-                            .symbol(stock.getSymbol())
-                            .scanDate(scanDate)
-                            .ruleName(rule.getRuleName())
-                            .ruleVersion(rule.getRuleVersion())
-                            .parameterSnapshot(rule.getParameterSnapshot())
-                            .confidence(confidence)
-                            .scannerVersion(scannerVersion)
-                            .metadata(metadata)
-                            .build();
-
-                        results.add(result);
-                        flaggedCount++;
-
-                        log.info("SIGNAL: {} matched rule '{}' with confidence {:.2f}",
-                            stock.getSymbol(), rule.getRuleName(), confidence);
-                    } else {
-                        log.debug("DEBUG_NO_MATCH symbol={} rule={}", stock.getSymbol(), rule.getRuleName());
-                    }
-                }
-
+                windows.add(new SymbolWindow(stock.getSymbol(), series, end, null));
             } catch (Exception e) {
                 log.error("Error scanning {}: {}", stock.getSymbol(), e.getMessage());
             }
         }
 
+        if (indicatorMode == IndicatorMode.CROSS_SECTIONAL) {
+            windows = withCrossSectionalIndicators(windows, indicatorParameters);
+        }
+
+        List<ScanResult> results = parallelEnabled
+            ? evaluateParallel(windows, scanDate, indicatorParameters)
+            : evaluateSequential(windows, scanDate, indicatorParameters);
+
+        int scannedCount = windows.size();
+        int flaggedCount = results.size();
+
+        // Persist in a stable order regardless of how evaluation was scheduled
+        results.sort(RESULT_ORDER);
+
         if (!results.isEmpty()) {
             resultRepository.saveAll(results);
+            pendingOutcomeQueue.enqueue(results);
         }
 
         ScannerRun run = ScannerRun.builder()
@@ -161,9 +271,209 @@ public class ScannerEngine {
         runRepository.save(run);
 
         executionStateService.completeScanForDate(scanDate, flaggedCount);
+        metrics.recordScan(System.nanoTime() - scanStart, scannedCount);
 
         log.info("========================================");
         log.info("Scan Complete: {} stocks scanned, {} flagged", scannedCount, flaggedCount);
         log.info("========================================");
     }
+
+    /**
+     * Computes every window's indicators in one universe-wide pass, so that symbol
+     * evaluation only has to run the rules.
+     */
+    private List<SymbolWindow> withCrossSectionalIndicators(List<SymbolWindow> windows,
+                                                           IndicatorParameters indicatorParameters) {
+        List<PriceSeries> series = new ArrayList<>(windows.size());
+        int[] ends = new int[windows.size()];
+        for (int i = 0; i < windows.size(); i++) {
+            series.add(windows.get(i).series());
+            ends[i] = windows.get(i).end();
+        }
+
+        long indicatorStart = System.nanoTime();
+        IndicatorBundle[] bundles = crossSectionalIndicatorEngine.calculateIndicators(series, ends, indicatorParameters);
+        metrics.recordIndicators(IndicatorMode.CROSS_SECTIONAL, System.nanoTime() - indicatorStart);
+
+        List<SymbolWindow> resolved = new ArrayList<>(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+            SymbolWindow window = windows.get(i);
+            resolved.add(new SymbolWindow(window.symbol(), window.series(), window.end(), bundles[i]));
+        }
+        return resolved;
+    }
+
+    private List<ScanResult> evaluateSequential(List<SymbolWindow> windows, LocalDate scanDate,
+                                                IndicatorParameters indicatorParameters) {
+        List<ScanResult> results = new ArrayList<>();
+        for (SymbolWindow window : windows) {
+            results.addAll(evaluateSymbol(window, scanDate, indicatorParameters));
+        }
+        return results;
+    }
+
+    /**
+     * Fans symbol evaluation out over the configured executor. At most
+     * {@code scanner.parallel.maxConcurrency} symbols are evaluated at the same time.
+     */
+    private List<ScanResult> evaluateParallel(List<SymbolWindow> windows, LocalDate scanDate,
+                                              IndicatorParameters indicatorParameters) {
+        Queue<ScanResult> buffer = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+
+        try (ExecutorService executor = newScanExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(windows.size());
+            for (SymbolWindow window : windows) {
+                futures.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        buffer.addAll(evaluateSymbol(window, scanDate, indicatorParameters));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel scan interrupted for " + scanDate, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel scan failed for " + scanDate, e.getCause());
+        }
+
+        log.info("Parallel scan evaluated {} symbols using {} executor (maxConcurrency={})",
+            windows.size(), parallelExecutor, maxConcurrency);
+        return new ArrayList<>(buffer);
+    }
+
+    private ExecutorService newScanExecutor() {
+        return switch (parallelExecutor) {
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+            case FORK_JOIN -> new ForkJoinPool(Math.max(1, maxConcurrency));
+        };
+    }
+
+    /**
+     * Evaluates every rule for one symbol. Pre-filters run first on the raw bars;
+     * indicators are only computed if at least one rule survives them. Touches only
+     * in-memory state, so it is safe to run on any thread; failures are isolated to the
+     * symbol.
+     */
+    private List<ScanResult> evaluateSymbol(SymbolWindow window, LocalDate scanDate,
+                                            IndicatorParameters indicatorParameters) {
+        String symbol = window.symbol();
+        PriceSeries series = window.series();
+        int end = window.end();
+        List<ScanResult> results = new ArrayList<>();
+
+        try {
+            List<ScannerRule> candidates = new ArrayList<>(rules.size());
+            for (ScannerRule rule : rules) {
+                boolean passed = rule.preFilter(symbol, series, end);
+                if (passed) {
+                    candidates.add(rule);
+                } else {
+                    metrics.recordPreFilterRejection(rule.getRuleName());
+                }
+            }
+            if (candidates.isEmpty()) {
+                return results;
+            }
+
+            List<StockPrice> prices = series.asStockPrices(end);
+
+            boolean traced = traceRecorder.isSampled(symbol);
+
+            IndicatorBundle indicators = window.indicators();
+            if (indicators == null && indicatorMode == IndicatorMode.BATCH && lazyIndicators) {
+                // Computed on first read inside the rules, so timing is part of rule evaluation
+                indicators = new LazyIndicatorBundle(series, end, indicatorParameters,
+                    requiredIndicators(candidates), indicatorService);
+            } else if (indicators == null) {
+                long indicatorStart = System.nanoTime();
+                indicators = indicatorMode == IndicatorMode.INCREMENTAL
+                    ? incrementalIndicatorEngine.calculateIndicators(series, end, indicatorParameters)
+                    : indicatorService.calculateIndicators(series, end, indicatorParameters);
+                metrics.recordIndicators(indicatorMode, System.nanoTime() - indicatorStart);
+            }
+
+            for (ScannerRule rule : candidates) {
+                long ruleStart = System.nanoTime();
+                RuleEvaluation evaluation = rule.evaluate(symbol, prices, indicators);
+                if (evaluation.matched()) {
+                    Double confidence = evaluation.confidence();
+
+                    ScanResult result = ScanResult.builder()
+                        .symbol(symbol)
+                        .scanDate(scanDate)
+                        .ruleName(rule.getRuleName())
+                        .ruleVersion(rule.getRuleVersion())
+                        .parameterSnapshot(rule.getParameterSnapshot())
+                        .confidence(confidence)
+                        .scannerVersion(scannerVersion)
+                        .metadata(evaluation.metadata())
+                        .build();
+
+                    results.add(result);
+                    metrics.recordRuleEvaluation(rule.getRuleName(), System.nanoTime() - ruleStart, true);
+                    if (traced) {
+                        traceRecorder.record(symbol, scanDate, rule.getRuleName(), TraceDecision.MATCHED, 0,
+                            confidence == null ? Double.NaN : confidence, Double.NaN);
+                    }
+
+                    log.info("SIGNAL: {} matched rule '{}' with confidence {}",
+                        symbol, rule.getRuleName(), confidence);
+                } else {
+                    metrics.recordRuleEvaluation(rule.getRuleName(), System.nanoTime() - ruleStart, false);
+                }
+            }
+
+            if (traced) {
+                traceIndicators(symbol, scanDate, indicators);
+            }
+        } catch (Exception e) {
+            log.error("Error scanning {}: {}", symbol, e.getMessage());
+        }
+
+        return results;
+    }
+
+    private static Set<Indicator> requiredIndicators(List<ScannerRule> candidates) {
+        Set<Indicator> required = EnumSet.noneOf(Indicator.class);
+        for (ScannerRule rule : candidates) {
+            required.addAll(rule.requiredIndicators());
+        }
+        return required;
+    }
+
+    /**
+     * Records which indicators were available. Recorded after the rules ran so that a lazy
+     * bundle is never forced to compute an indicator just for the trace.
+     */
+    private void traceIndicators(String symbol, LocalDate scanDate, IndicatorBundle indicators) {
+        LazyIndicatorBundle lazy = indicators instanceof LazyIndicatorBundle l ? l : null;
+        boolean rsiKnown = lazy == null || lazy.isComputed(Indicator.RSI);
+        boolean sma20Known = lazy == null || lazy.isComputed(Indicator.SMA_SHORT);
+        boolean avgVolumeKnown = lazy == null || lazy.isComputed(Indicator.AVG_VOLUME);
+
+        boolean hasRsi = rsiKnown && indicators.hasRsi();
+        boolean hasSma20 = sma20Known && indicators.hasSma20();
+        int flags = ScanTraceRecorder.flag(0, 0, hasRsi);
+        flags = ScanTraceRecorder.flag(flags, 1, hasSma20);
+        flags = ScanTraceRecorder.flag(flags, 2, avgVolumeKnown && indicators.hasAvgVolume());
+        traceRecorder.record(symbol, scanDate, null, TraceDecision.INDICATORS, flags,
+            hasRsi ? indicators.getRsi() : Double.NaN,
+            hasSma20 ? indicators.getSma20() : Double.NaN);
+    }
+
+    /** Totals of one {@link #scanDateRange} run. */
+    public record RangeScanSummary(int datesScanned, int symbols, int signals, long elapsedMs) {}
+
+    /**
+     * A symbol's bars through the scan date; {@code indicators} is set when they were
+     * computed up front for the whole universe.
+     */
+    private record SymbolWindow(String symbol, PriceSeries series, int end, IndicatorBundle indicators) {}
 }
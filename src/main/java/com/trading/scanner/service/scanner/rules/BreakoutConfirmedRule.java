@@ -4,13 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trading.scanner.config.BreakoutRuleProperties;
 import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.Indicator;
 import com.trading.scanner.service.indicators.IndicatorBundle;
+import com.trading.scanner.service.scanner.trace.ScanTraceRecorder;
+import com.trading.scanner.service.scanner.trace.TraceDecision;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 @Slf4j
@@ -18,15 +26,20 @@ import java.util.TreeMap;
 public class BreakoutConfirmedRule implements ScannerRule {
 
     private static final String RULE_VERSION = "1.1";
+    private static final Set<Indicator> REQUIRED_INDICATORS = Collections.unmodifiableSet(EnumSet.of(
+        Indicator.RSI, Indicator.SMA_SHORT, Indicator.AVG_VOLUME, Indicator.SMA_MEDIUM, Indicator.SMA_LONG));
     private final ObjectMapper objectMapper;
     private final BreakoutRuleProperties properties;
+    private final ScanTraceRecorder traceRecorder;
 
-    public BreakoutConfirmedRule(ObjectMapper objectMapper, BreakoutRuleProperties properties) {
+    public BreakoutConfirmedRule(ObjectMapper objectMapper, BreakoutRuleProperties properties,
+                                 ScanTraceRecorder traceRecorder) {
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.traceRecorder = traceRecorder;
         
         // DEBUG: Log property binding at startup
-        log.info("DEBUG_RULE_PROPS lookback={} rsiThreshold={} volumeMult={} rsiConfThreshold={} volMultConfidence={} maxGap={} baseConf={} increment={} maxCap={}",
+        log.debug("DEBUG_RULE_PROPS lookback={} rsiThreshold={} volumeMult={} rsiConfThreshold={} volMultConfidence={} maxGap={} baseConf={} increment={} maxCap={}",
             properties.lookbackWindow(),
             properties.rsiThresholdMatch(),
             properties.volumeMultiplierMatch(),
@@ -74,27 +87,79 @@ public class BreakoutConfirmedRule implements ScannerRule {
         }
     }
 
+    @Override
+    public boolean preFilter(String symbol, PriceSeries series, int end) {
+        if (end < properties.lookbackWindow()) {
+            if (traceRecorder.isSampled(symbol)) {
+                traceRecorder.record(symbol, end == 0 ? 0 : series.epochDay(end - 1), getRuleName(),
+                    TraceDecision.INSUFFICIENT_HISTORY, 0, end, properties.lookbackWindow());
+            }
+            return false;
+        }
+        double close = series.adjClose(end - 1);
+        long volume = series.volume(end - 1);
+        if (Double.isNaN(close) || volume == PriceSeries.NO_VOLUME) {
+            if (traceRecorder.isSampled(symbol)) {
+                traceRecorder.record(symbol, series.epochDay(end - 1), getRuleName(), TraceDecision.MISSING_DAILY_DATA,
+                    0, close, volume == PriceSeries.NO_VOLUME ? Double.NaN : volume);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public RuleEvaluation evaluate(String symbol, List<StockPrice> prices, IndicatorBundle indicators) {
+        if (!check(symbol, prices, indicators, traceRecorder.isSampled(symbol))) {
+            return RuleEvaluation.NO_MATCH;
+        }
+        return RuleEvaluation.match(confidence(prices, indicators), getMetadata(symbol, prices, indicators));
+    }
+
+    /**
+     * RSI, SMA20 and average volume decide the match; SMA50/SMA200 only feed the confidence
+     * of matched symbols, so with lazy bundles they are computed for signals alone.
+     */
+    @Override
+    public Set<Indicator> requiredIndicators() {
+        return REQUIRED_INDICATORS;
+    }
+
     @Override
     public boolean matches(String symbol, List<StockPrice> prices, IndicatorBundle indicators) {
+        return check(symbol, prices, indicators, traceRecorder.isSampled(symbol));
+    }
+
+    private boolean check(String symbol, List<StockPrice> prices, IndicatorBundle indicators, boolean traced) {
         // FIX 2: Restore layering - use pre-calculated indicators from the bundle
         if (prices.size() < properties.lookbackWindow()) {
-            log.info("DEBUG_GUARD1_FAIL symbol={} reason=insufficient_history size={} required={}",
-                symbol, prices.size(), properties.lookbackWindow());
+            if (traced) {
+                traceRecorder.record(symbol, lastDate(prices), getRuleName(), TraceDecision.INSUFFICIENT_HISTORY,
+                    0, prices.size(), properties.lookbackWindow());
+            }
             return false;
         }
         
         StockPrice today = prices.get(prices.size() - 1);
         if (today.getAdjClose() == null || today.getVolume() == null) {
-            log.info("DEBUG_GUARD2_FAIL symbol={} reason=null_daily_data close={} volume={}",
-                symbol, today.getAdjClose(), today.getVolume());
+            if (traced) {
+                traceRecorder.record(symbol, today.getDate(), getRuleName(), TraceDecision.MISSING_DAILY_DATA, 0,
+                    today.getAdjClose() == null ? Double.NaN : today.getAdjClose(),
+                    today.getVolume() == null ? Double.NaN : today.getVolume());
+            }
             return false;
         }
 
         // The indicators are pre-calculated by the engine. Check if they exist.
         // This implicitly checks if there was enough data (e.g., 14 days for RSI, 20 for SMA20).
         if (!indicators.hasRsi() || !indicators.hasSma20() || !indicators.hasAvgVolume()) {
-            log.info("DEBUG_GUARD3_FAIL symbol={} reason=missing_indicators hasRsi={} hasSma20={} hasAvgVol={}",
-                symbol, indicators.hasRsi(), indicators.hasSma20(), indicators.hasAvgVolume());
+            if (traced) {
+                int flags = ScanTraceRecorder.flag(0, 0, indicators.hasRsi());
+                flags = ScanTraceRecorder.flag(flags, 1, indicators.hasSma20());
+                flags = ScanTraceRecorder.flag(flags, 2, indicators.hasAvgVolume());
+                traceRecorder.record(symbol, today.getDate(), getRuleName(), TraceDecision.MISSING_INDICATORS,
+                    flags, Double.NaN, Double.NaN);
+            }
             return false;
         }
 
@@ -108,13 +173,13 @@ public class BreakoutConfirmedRule implements ScannerRule {
         }
         
         if (recentHigh == Double.MIN_VALUE) {
+            if (traced) {
+                traceRecorder.record(symbol, today.getDate(), getRuleName(), TraceDecision.NO_RECENT_HIGH,
+                    0, Double.NaN, Double.NaN);
+            }
             return false;
         }
 
-        // BREAKOUT_DEBUG: Verify breakout math before final evaluation
-        log.info("BREAKOUT_DEBUG symbol={} todayClose={} recentHigh={}",
-            symbol, today.getAdjClose(), recentHigh);
-
         // All "magic numbers" are now from the properties object.
         boolean priceBreakout = today.getAdjClose() > recentHigh;
         double gapPercent = (today.getAdjClose() - recentHigh) / recentHigh;
@@ -122,27 +187,34 @@ public class BreakoutConfirmedRule implements ScannerRule {
         boolean volumeConfirmation = today.getVolume() > (indicators.getAvgVolume20() * properties.volumeMultiplierMatch());
         boolean rsiSupport = indicators.getRsi() > properties.rsiThresholdMatch();
         boolean aboveSma20 = indicators.getAboveSma20() != null && indicators.getAboveSma20();
-        
-        // DEBUG: Log all condition evaluations
-        log.info("DEBUG_MATCH_CHECK symbol={} breakout={} gapPercent={} volumeConfirm={} rsi={} sma20={} RESULT={}",
-            symbol,
-            priceBreakout,
-            String.format("%.2f%%", gapPercent * 100),
-            volumeConfirmation,
-            rsiSupport,
-            aboveSma20,
-            (priceBreakout && reasonableGap && volumeConfirmation && rsiSupport && aboveSma20));
+
+        if (traced) {
+            int flags = ScanTraceRecorder.flag(0, 0, priceBreakout);
+            flags = ScanTraceRecorder.flag(flags, 1, reasonableGap);
+            flags = ScanTraceRecorder.flag(flags, 2, volumeConfirmation);
+            flags = ScanTraceRecorder.flag(flags, 3, rsiSupport);
+            flags = ScanTraceRecorder.flag(flags, 4, aboveSma20);
+            traceRecorder.record(symbol, today.getDate(), getRuleName(), TraceDecision.EVALUATED,
+                flags, today.getAdjClose(), gapPercent);
+        }
         
         return priceBreakout && reasonableGap && volumeConfirmation && rsiSupport && aboveSma20;
     }
 
+    private static LocalDate lastDate(List<StockPrice> prices) {
+        return prices.isEmpty() ? LocalDate.EPOCH : prices.get(prices.size() - 1).getDate();
+    }
+
     @Override
     public Double getConfidence(String symbol, List<StockPrice> prices, IndicatorBundle indicators) {
         // FIX 2: Logic restored to use the pre-calculated bundle
-        if (!matches(symbol, prices, indicators)) {
+        if (!check(symbol, prices, indicators, false)) {
             return 0.0;
         }
-        
+        return confidence(prices, indicators);
+    }
+
+    private double confidence(List<StockPrice> prices, IndicatorBundle indicators) {
         double confidence = properties.baseConfidence();
         StockPrice today = prices.get(prices.size() - 1);
 
@@ -0,0 +1,14 @@
+package com.trading.scanner.service.scanner.rules;
+
+/**
+ * Outcome of evaluating one rule for one symbol: whether it matched and, if so, the
+ * confidence and metadata to persist with the signal.
+ */
+public record RuleEvaluation(boolean matched, Double confidence, String metadata) {
+
+    public static final RuleEvaluation NO_MATCH = new RuleEvaluation(false, null, null);
+
+    public static RuleEvaluation match(Double confidence, String metadata) {
+        return new RuleEvaluation(true, confidence, metadata);
+    }
+}
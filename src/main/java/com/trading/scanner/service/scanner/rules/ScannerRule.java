@@ -1,10 +1,25 @@
 package com.trading.scanner.service.scanner.rules;
 
 import com.trading.scanner.model.StockPrice;
+import com.trading.scanner.service.data.PriceSeries;
+import com.trading.scanner.service.indicators.Indicator;
 import com.trading.scanner.service.indicators.IndicatorBundle;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * A scan rule evaluated once per symbol per scan date.
+ * Implementations may be called concurrently from scan worker threads (see
+ * {@code scanner.parallel.enabled}), so they must be stateless and must not touch the
+ * persistence layer; everything they need is passed in.
+ *
+ * The scanner drives a rule in two stages: {@link #preFilter} on the raw columnar bars,
+ * then {@link #evaluate} with indicators for the symbols that passed. Rules only need to
+ * override the stage methods to benefit; the defaults fall back to the original
+ * {@code matches}/{@code getConfidence}/{@code getMetadata} contract.
+ */
 public interface ScannerRule {
     
     String getRuleName();
@@ -18,4 +33,31 @@ public interface ScannerRule {
     Double getConfidence(String symbol, List<StockPrice> prices, IndicatorBundle indicators);
     
     String getMetadata(String symbol, List<StockPrice> prices, IndicatorBundle indicators);
+
+    /**
+     * Cheap rejection on the first {@code end} bars of the series, before any indicator is
+     * computed. Must return false only when {@link #evaluate} could not match.
+     */
+    default boolean preFilter(String symbol, PriceSeries series, int end) {
+        return true;
+    }
+
+    /**
+     * Evaluates the rule once, returning the match decision together with its confidence
+     * and metadata.
+     */
+    default RuleEvaluation evaluate(String symbol, List<StockPrice> prices, IndicatorBundle indicators) {
+        if (!matches(symbol, prices, indicators)) {
+            return RuleEvaluation.NO_MATCH;
+        }
+        return RuleEvaluation.match(getConfidence(symbol, prices, indicators), getMetadata(symbol, prices, indicators));
+    }
+
+    /**
+     * Indicators this rule reads from the bundle, anywhere in {@link #evaluate}. The scanner
+     * computes only the union over the rules being evaluated; anything else reads as absent.
+     */
+    default Set<Indicator> requiredIndicators() {
+        return EnumSet.allOf(Indicator.class);
+    }
 }
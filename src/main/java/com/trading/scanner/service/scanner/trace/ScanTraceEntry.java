@@ -0,0 +1,18 @@
+package com.trading.scanner.service.scanner.trace;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One decoded scan-trace record, as returned by {@link ScanTraceRecorder#dump}.
+ * {@code rule} is null for engine-level records such as {@link TraceDecision#INDICATORS}.
+ */
+public record ScanTraceEntry(
+    long sequence,
+    LocalDate scanDate,
+    String symbol,
+    String rule,
+    TraceDecision decision,
+    Map<String, Double> values,
+    Map<String, Boolean> flags
+) {}
@@ -0,0 +1,226 @@
+package com.trading.scanner.service.scanner.trace;
+
+import com.trading.scanner.service.data.SymbolDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sampled, structured trace of scan decisions, kept in a fixed-size binary ring buffer in
+ * place of per-symbol log lines.
+ *
+ * Each record is four longs: scan date and symbol code, rule code with decision and
+ * condition flags, and two raw double values. Symbols are stored as their
+ * {@link SymbolDictionary} id and rule names are interned to int codes, so recording a
+ * sampled decision allocates nothing once a symbol has been seen.
+ * Sampling is decided per symbol from its hash, so a sampled symbol is traced completely
+ * and consistently across scans.
+ *
+ * Writers claim slots from a shared cursor and publish them through a per-slot stamp;
+ * {@link #dump} skips slots that are being overwritten while it reads them. Records are
+ * only decoded into {@link ScanTraceEntry} objects on demand.
+ */
+@Slf4j
+@Component
+public class ScanTraceRecorder {
+
+    private static final int WORDS_PER_RECORD = 4;
+    private static final int NO_RULE = 0xFFFF;
+    private static final long WRITING = -1L;
+
+    private final int sampleThreshold;
+    private final int mask;
+    private final long[] words;
+    private final AtomicLongArray stamps;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final SymbolDictionary symbolDictionary;
+    private final ConcurrentMap<String, Integer> ruleCodes = new ConcurrentHashMap<>();
+    private final List<String> ruleNames = new ArrayList<>();
+
+    public ScanTraceRecorder(SymbolDictionary symbolDictionary,
+                             @Value("${scanner.trace.sampleRate:1.0}") double sampleRate,
+                             @Value("${scanner.trace.capacity:65536}") int capacity) {
+        this.symbolDictionary = symbolDictionary;
+        double rate = Math.max(0.0, Math.min(1.0, sampleRate));
+        this.sampleThreshold = rate >= 1.0 ? Integer.MAX_VALUE : (int) (rate * (1 << 24));
+        int slots = rate == 0.0 ? 1 : Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = slots - 1;
+        this.words = new long[slots * WORDS_PER_RECORD];
+        this.stamps = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            stamps.set(i, WRITING);
+        }
+        log.info("Scan trace sampling {} of symbols into {} slots", rate, rate == 0.0 ? 0 : slots);
+    }
+
+    /**
+     * A recorder that samples nothing, for callers outside the Spring context.
+     */
+    public static ScanTraceRecorder disabled() {
+        return new ScanTraceRecorder(new SymbolDictionary(), 0.0, 0);
+    }
+
+    /**
+     * True if decisions for this symbol should be recorded.
+     */
+    public boolean isSampled(String symbol) {
+        if (sampleThreshold == 0) {
+            return false;
+        }
+        if (sampleThreshold == Integer.MAX_VALUE) {
+            return true;
+        }
+        int h = symbol.hashCode() * 0x9E3779B9;
+        return (h >>> 8) < sampleThreshold;
+    }
+
+    /**
+     * Sets bit {@code bit} of a flag word when {@code value} holds.
+     */
+    public static int flag(int flags, int bit, boolean value) {
+        return value ? flags | (1 << bit) : flags;
+    }
+
+    /**
+     * Records one decision. Callers check {@link #isSampled} first; {@code rule} may be
+     * null for engine-level records. NaN marks an absent value.
+     */
+    public void record(String symbol, LocalDate scanDate, String rule, TraceDecision decision,
+                       int flags, double valueA, double valueB) {
+        record(symbol, scanDate.toEpochDay(), rule, decision, flags, valueA, valueB);
+    }
+
+    /**
+     * As {@link #record(String, LocalDate, String, TraceDecision, int, double, double)},
+     * with the scan date given as an epoch day.
+     */
+    public void record(String symbol, long epochDay, String rule, TraceDecision decision,
+                       int flags, double valueA, double valueB) {
+        int symbolCode = symbolDictionary.id(symbol);
+        int ruleCode = rule == null ? NO_RULE : code(rule, ruleCodes, ruleNames);
+
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        int base = slot * WORDS_PER_RECORD;
+
+        stamps.set(slot, WRITING);
+        // Keep the plain stores below from becoming visible before the WRITING mark
+        VarHandle.storeStoreFence();
+        words[base] = (epochDay << 32) | (symbolCode & 0xFFFFFFFFL);
+        words[base + 1] = ((long) ruleCode << 32) | ((long) decision.ordinal() << 16) | (flags & 0xFFFF);
+        words[base + 2] = Double.doubleToRawLongBits(valueA);
+        words[base + 3] = Double.doubleToRawLongBits(valueB);
+        stamps.set(slot, sequence);
+    }
+
+    /**
+     * Records currently held in the buffer, newest first, optionally filtered by symbol
+     * and scan date.
+     */
+    public List<ScanTraceEntry> dump(String symbol, LocalDate scanDate, int limit) {
+        List<ScanTraceEntry> entries = new ArrayList<>();
+        int symbolFilter = symbol == null ? -1 : symbolDictionary.find(symbol);
+        if (symbol != null && symbolFilter < 0) {
+            return entries;
+        }
+        long dateFilter = scanDate == null ? Long.MIN_VALUE : scanDate.toEpochDay();
+
+        long head = cursor.get();
+        long oldest = Math.max(0, head - (mask + 1L));
+        for (long sequence = head - 1; sequence >= oldest && entries.size() < limit; sequence--) {
+            int slot = (int) (sequence & mask);
+            int base = slot * WORDS_PER_RECORD;
+            if (stamps.get(slot) != sequence) {
+                continue;
+            }
+            long key = words[base];
+            long detail = words[base + 1];
+            long rawA = words[base + 2];
+            long rawB = words[base + 3];
+            // Keep the plain loads above from moving past the re-check (as StampedLock.validate)
+            VarHandle.acquireFence();
+            if (stamps.get(slot) != sequence) {
+                continue;
+            }
+
+            int symbolCode = (int) key;
+            long epochDay = key >> 32;
+            if ((symbolFilter >= 0 && symbolFilter != symbolCode)
+                    || (dateFilter != Long.MIN_VALUE && dateFilter != epochDay)) {
+                continue;
+            }
+            entries.add(decode(sequence, epochDay, symbolCode, detail, rawA, rawB));
+        }
+        return entries;
+    }
+
+    /**
+     * Total number of records written since startup, including overwritten ones.
+     */
+    public long recorded() {
+        return cursor.get();
+    }
+
+    private ScanTraceEntry decode(long sequence, long epochDay, int symbolCode, long detail, long rawA, long rawB) {
+        int ruleCode = (int) (detail >>> 32);
+        TraceDecision decision = TraceDecision.values()[(int) (detail >>> 16) & 0xFFFF];
+        int flags = (int) detail & 0xFFFF;
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        putValue(values, decision.valueA(), Double.longBitsToDouble(rawA));
+        putValue(values, decision.valueB(), Double.longBitsToDouble(rawB));
+
+        Map<String, Boolean> flagMap = new LinkedHashMap<>();
+        String[] names = decision.flags();
+        for (int i = 0; i < names.length; i++) {
+            flagMap.put(names[i], (flags & (1 << i)) != 0);
+        }
+
+        return new ScanTraceEntry(
+            sequence,
+            LocalDate.ofEpochDay(epochDay),
+            symbolDictionary.symbol(symbolCode),
+            ruleCode == NO_RULE ? null : name(ruleCode, ruleNames),
+            decision,
+            values,
+            flagMap
+        );
+    }
+
+    private static void putValue(Map<String, Double> values, String label, double value) {
+        if (label != null && !Double.isNaN(value)) {
+            values.put(label, value);
+        }
+    }
+
+    private static int code(String value, ConcurrentMap<String, Integer> codes, List<String> names) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (names) {
+            return codes.computeIfAbsent(value, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    private static String name(int code, List<String> names) {
+        synchronized (names) {
+            return code < names.size() ? names.get(code) : null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.trading.scanner.service.scanner.trace;
+
+/**
+ * What a traced evaluation step decided. Each decision carries up to two numeric values
+ * and a small set of condition flags; the labels below name them in dumps.
+ */
+public enum TraceDecision {
+
+    /** Indicators resolved for the symbol; flags say which ones are present. */
+    INDICATORS("rsi", "sma20", "hasRsi", "hasSma20", "hasAvgVolume"),
+
+    /** Fewer bars than the rule's lookback window. */
+    INSUFFICIENT_HISTORY("bars", "required"),
+
+    /** Today's bar has no adjusted close or no volume. */
+    MISSING_DAILY_DATA("close", "volume"),
+
+    /** An indicator the rule depends on could not be computed. */
+    MISSING_INDICATORS(null, null, "hasRsi", "hasSma20", "hasAvgVolume"),
+
+    /** No usable high inside the lookback window. */
+    NO_RECENT_HIGH(null, null),
+
+    /** All guards passed; flags are the individual match conditions. */
+    EVALUATED("close", "gapPercent", "breakout", "reasonableGap", "volume", "rsi", "aboveSma20"),
+
+    /** The rule matched and produced a signal. */
+    MATCHED("confidence", null);
+
+    private final String valueA;
+    private final String valueB;
+    private final String[] flags;
+
+    TraceDecision(String valueA, String valueB, String... flags) {
+        this.valueA = valueA;
+        this.valueB = valueB;
+        this.flags = flags;
+    }
+
+    String valueA() {
+        return valueA;
+    }
+
+    String valueB() {
+        return valueB;
+    }
+
+    String[] flags() {
+        return flags;
+    }
+}
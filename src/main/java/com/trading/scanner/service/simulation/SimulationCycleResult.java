@@ -2,12 +2,22 @@ package com.trading.scanner.service.simulation;
 
 import java.time.LocalDate;
 
+/**
+ * Outcome of one simulated trading day. {@code durationMs} is the whole cycle; the stage
+ * fields break it down into ingestion, scan and forward-return computation.
+ * {@code allocatedBytes} is the heap allocated by the cycle's thread, or -1 if the JVM
+ * does not support per-thread allocation accounting.
+ */
 public record SimulationCycleResult(
     int tradingOffset,
     LocalDate cycleDate,
     int stocksIngested,
     int signalsGenerated,
     long durationMs,
+    long ingestMs,
+    long scanMs,
+    long outcomesMs,
+    long allocatedBytes,
     boolean success,
     String failureReason
 ) {}
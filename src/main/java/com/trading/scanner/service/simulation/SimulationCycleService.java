@@ -12,22 +12,28 @@ import com.trading.scanner.service.state.ExecutionStateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class SimulationCycleService {
 
-    private static final int MAX_SAFE_RANGE = 2000;
+    static final int MAX_SAFE_RANGE = 2000;
     private final Object advanceLock = new Object();
 
     private final SimulationStateRepository simulationStateRepository;
@@ -36,77 +42,138 @@ public class SimulationCycleService {
     private final ScannerEngine scannerEngine;
     private final ExecutionStateService executionStateService;
     private final ForwardReturnEngine forwardReturnEngine;
+    private final PlatformTransactionManager transactionManager;
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public SimulationBatchResult advanceSimulation(int days) {
+        return advanceSimulation(days, result -> true);
+    }
+
+    /**
+     * Same as {@link #advanceSimulation(int)}, but {@code continueAfter} sees each cycle as
+     * it completes; returning false ends the batch early, committing the cycles run so far.
+     *
+     * The advance lock is held around the whole transaction, commit included, so snapshot
+     * operations never see a batch that has run but not yet committed.
+     */
+    public SimulationBatchResult advanceSimulation(int days, Predicate<SimulationCycleResult> continueAfter) {
         synchronized (advanceLock) {
             validateRequest(days);
             if (days == 0) {
                 return new SimulationBatchResult(0, 0, 0, Collections.emptyList());
             }
+            return inSerializableTransaction(status -> runBatch(days, continueAfter));
+        }
+    }
 
-            SimulationState state = simulationStateRepository.findById(1)
-                .orElseThrow(() -> new IllegalStateException("Simulation state not initialized"));
+    public void resetSimulation() {
+        synchronized (advanceLock) {
+            inSerializableTransaction(status -> {
+                SimulationState state = simulationStateRepository.findById(1)
+                    .orElseThrow(() -> new IllegalStateException("Simulation state not initialized"));
+
+                state.setTradingOffset(0);
+                simulationStateRepository.save(state);
+                log.warn("SIMULATION RESET to base date: {}", state.getBaseDate());
+                return null;
+            });
+        }
+    }
 
-            validateState(state);
+    /**
+     * Runs {@code action} while no batch or reset is in progress, and blocks both until it
+     * returns. Used by snapshot operations that copy or replace the whole database.
+     */
+    public <T> T runExclusively(Supplier<T> action) {
+        synchronized (advanceLock) {
+            return action.get();
+        }
+    }
 
-            List<SimulationCycleResult> results = new ArrayList<>();
-            LocalDate lastDate = tradingCalendar.addTradingDays(state.getBaseDate(), state.getTradingOffset());
+    private SimulationBatchResult runBatch(int days, Predicate<SimulationCycleResult> continueAfter) {
+        SimulationState state = simulationStateRepository.findById(1)
+            .orElseThrow(() -> new IllegalStateException("Simulation state not initialized"));
 
-            for (int i = 0; i < days; i++) {
-                LocalDate nextDate = tradingCalendar.nextTradingDay(lastDate);
-                SimulationCycleResult result = runSingleCycleInMemory(nextDate, state.getTradingOffset() + i + 1);
+        validateState(state);
 
-                if (!result.success()) {
-                    throw new IllegalStateException(
-                        "Cycle failed for date " + nextDate + ". Rolling back entire batch."
-                    );
-                }
-                results.add(result);
-                lastDate = nextDate;
-            }
+        List<SimulationCycleResult> results = new ArrayList<>();
+        LocalDate lastDate = tradingCalendar.addTradingDays(state.getBaseDate(), state.getTradingOffset());
 
-            state.setTradingOffset(state.getTradingOffset() + days);
-            simulationStateRepository.save(state);
+        for (int i = 0; i < days; i++) {
+            LocalDate nextDate = tradingCalendar.nextTradingDay(lastDate);
+            SimulationCycleResult result = runSingleCycleInMemory(nextDate, state.getTradingOffset() + i + 1);
 
-            return buildBatchResult(days, results);
+            if (!result.success()) {
+                throw new IllegalStateException(
+                    "Cycle failed for date " + nextDate + ". Rolling back entire batch."
+                );
+            }
+            results.add(result);
+            lastDate = nextDate;
+            if (!continueAfter.test(result)) {
+                break;
+            }
         }
-    }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void resetSimulation() {
-        synchronized (advanceLock) {
-            SimulationState state = simulationStateRepository.findById(1)
-                .orElseThrow(() -> new IllegalStateException("Simulation state not initialized"));
+        state.setTradingOffset(state.getTradingOffset() + results.size());
+        simulationStateRepository.save(state);
 
-            state.setTradingOffset(0);
-            simulationStateRepository.save(state);
-            log.warn("SIMULATION RESET to base date: {}", state.getBaseDate());
-        }
+        return buildBatchResult(days, results);
+    }
+
+    private <T> T inSerializableTransaction(TransactionCallback<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        return template.execute(action);
     }
 
     private SimulationCycleResult runSingleCycleInMemory(LocalDate cycleDate, int targetOffset) {
         long startTime = System.currentTimeMillis();
+        long startAllocated = currentThreadAllocatedBytes();
         String cycleId = UUID.randomUUID().toString().substring(0, 8);
         log.info("CYCLE_START cycleId={} offset={} date={}", cycleId, targetOffset, cycleDate);
 
+        long stageStart = System.nanoTime();
         dataIngestionService.ingestSimulatedDailyData(cycleDate, ExecutionMode.MANUAL);
         ScanExecutionState cycleState = executionStateService.getOrCreateState(cycleDate);
         int ingestedCount = cycleState.getStocksIngested() != null ? cycleState.getStocksIngested() : 0;
+        long ingestMs = elapsedMs(stageStart);
         log.info("CYCLE_INGEST_COMPLETE cycleId={} offset={} ingested={}", cycleId, targetOffset, ingestedCount);
 
+        stageStart = System.nanoTime();
         scannerEngine.executeScanForDate(cycleDate);
         cycleState = executionStateService.getOrCreateState(cycleDate); // Re-fetch state after scan
         int signalsCount = cycleState.getSignalsGenerated() != null ? cycleState.getSignalsGenerated() : 0;
+        long scanMs = elapsedMs(stageStart);
         log.info("CYCLE_SCAN_COMPLETE cycleId={} offset={} signals={}", cycleId, targetOffset, signalsCount);
 
         // Compute forward returns for eligible signals (v1.9)
+        stageStart = System.nanoTime();
         forwardReturnEngine.computeEligibleOutcomes(cycleDate);
+        long outcomesMs = elapsedMs(stageStart);
 
         long durationMs = System.currentTimeMillis() - startTime;
-        log.info("CYCLE_END cycleId={} offset={} durationMs={}", cycleId, durationMs);
+        long endAllocated = currentThreadAllocatedBytes();
+        long allocatedBytes = startAllocated < 0 || endAllocated < 0 ? -1 : endAllocated - startAllocated;
+        log.info("CYCLE_END cycleId={} offset={} durationMs={} ingestMs={} scanMs={} outcomesMs={}",
+            cycleId, targetOffset, durationMs, ingestMs, scanMs, outcomesMs);
+
+        return new SimulationCycleResult(targetOffset, cycleDate, ingestedCount, signalsCount, durationMs,
+            ingestMs, scanMs, outcomesMs, allocatedBytes, true, null);
+    }
 
-        return new SimulationCycleResult(targetOffset, cycleDate, ingestedCount, signalsCount, durationMs, true, null);
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Heap bytes allocated so far by the current thread, or -1 if the JVM cannot tell.
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
     }
 
     private void validateRequest(int days) {
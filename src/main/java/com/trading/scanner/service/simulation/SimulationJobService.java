@@ -0,0 +1,224 @@
+package com.trading.scanner.service.simulation;
+
+import com.trading.scanner.config.simulation.SimulationProperties;
+import com.trading.scanner.service.simulation.SimulationJobStatus.State;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background simulation advances, polled by job id instead of holding an HTTP request
+ * open for the whole batch.
+ *
+ * A job runs its days as a sequence of checkpoints of {@code simulation.jobCheckpointDays}
+ * cycles, each one a separate {@link SimulationCycleService#advanceSimulation} transaction.
+ * A failing cycle therefore only rolls back its own checkpoint, and no single transaction
+ * spans the whole replay. Cancelling stops after the cycle in progress and commits the
+ * cycles of the open checkpoint.
+ *
+ * Jobs run one at a time on a dedicated thread, in submission order. Between checkpoints
+ * the advance lock is released, so other simulation requests can run between them.
+ */
+@Slf4j
+@Service
+@Profile("simulation")
+@RequiredArgsConstructor
+public class SimulationJobService {
+
+    private final SimulationCycleService simulationCycleService;
+    private final SimulationProperties simulationProperties;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "simulation-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * Queues an advance of {@code days} trading days.
+     *
+     * @param checkpointDays cycles per transaction, or null for {@code simulation.jobCheckpointDays}.
+     */
+    public SimulationJobStatus submit(int days, Integer checkpointDays) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive.");
+        }
+        int checkpoint = checkpointDays != null ? checkpointDays : simulationProperties.getJobCheckpointDays();
+        if (checkpoint <= 0 || checkpoint > SimulationCycleService.MAX_SAFE_RANGE) {
+            throw new IllegalArgumentException(
+                "Checkpoint days must be between 1 and " + SimulationCycleService.MAX_SAFE_RANGE);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString().substring(0, 8), days, checkpoint);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            prune();
+        }
+        executor.execute(() -> run(job));
+        log.info("SIMULATION_JOB_SUBMITTED jobId={} days={} checkpointDays={}", job.id, days, checkpoint);
+        return job.status();
+    }
+
+    public SimulationJobStatus get(String jobId) {
+        return find(jobId).status();
+    }
+
+    /**
+     * All retained jobs, oldest first.
+     */
+    public List<SimulationJobStatus> list() {
+        List<Job> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        return snapshot.stream().map(Job::status).toList();
+    }
+
+    /**
+     * Requests cancellation; a queued job never starts, a running one stops after its
+     * current cycle. Cancelling a finished job has no effect.
+     */
+    public SimulationJobStatus cancel(String jobId) {
+        Job job = find(jobId);
+        job.cancelRequested = true;
+        log.info("SIMULATION_JOB_CANCEL_REQUESTED jobId={}", jobId);
+        return job.status();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(job -> job.cancelRequested = true);
+        }
+        executor.shutdown();
+    }
+
+    private void run(Job job) {
+        if (job.cancelRequested) {
+            job.finish(State.CANCELLED, null);
+            return;
+        }
+        job.start();
+        try {
+            while (job.remaining() > 0 && !job.cancelRequested) {
+                int chunk = Math.min(job.checkpointDays, job.remaining());
+                SimulationBatchResult batch = simulationCycleService.advanceSimulation(chunk, result -> {
+                    job.cycleRan();
+                    return !job.cancelRequested;
+                });
+                job.commit(batch);
+                log.info("SIMULATION_JOB_CHECKPOINT jobId={} completed={}/{}",
+                    job.id, job.status().cyclesCompleted(), job.daysRequested);
+            }
+            job.finish(job.remaining() > 0 ? State.CANCELLED : State.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("SIMULATION_JOB_FAILED jobId={}", job.id, e);
+            job.finish(State.FAILED, e.getMessage());
+        }
+        log.info("SIMULATION_JOB_END jobId={} state={}", job.id, job.status().state());
+    }
+
+    private Job find(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw new IllegalArgumentException("No such simulation job: " + jobId);
+            }
+            return job;
+        }
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond {@code simulation.jobHistory}.
+     */
+    private void prune() {
+        long finished = jobs.values().stream().filter(job -> job.status().state().isFinished()).count();
+        Iterator<Job> it = jobs.values().iterator();
+        while (finished > simulationProperties.getJobHistory() && it.hasNext()) {
+            if (it.next().status().state().isFinished()) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    /**
+     * Mutable progress of one job; written by the job thread, read by pollers.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final int daysRequested;
+        private final int checkpointDays;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<SimulationCycleResult> cycleResults = new ArrayList<>();
+
+        private volatile boolean cancelRequested;
+        private State state = State.QUEUED;
+        private int cyclesInCheckpoint;
+        private int checkpointsCommitted;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private long startNanos;
+        private long elapsedMs;
+        private String failureReason;
+
+        private Job(String id, int daysRequested, int checkpointDays) {
+            this.id = id;
+            this.daysRequested = daysRequested;
+            this.checkpointDays = checkpointDays;
+        }
+
+        synchronized void start() {
+            state = State.RUNNING;
+            startedAt = LocalDateTime.now();
+            startNanos = System.nanoTime();
+        }
+
+        synchronized void cycleRan() {
+            cyclesInCheckpoint++;
+        }
+
+        synchronized void commit(SimulationBatchResult batch) {
+            cycleResults.addAll(batch.cycleResults());
+            cyclesInCheckpoint = 0;
+            checkpointsCommitted++;
+        }
+
+        synchronized void finish(State finalState, String reason) {
+            state = finalState;
+            failureReason = reason;
+            // Cycles of a failed checkpoint were rolled back
+            cyclesInCheckpoint = 0;
+            finishedAt = LocalDateTime.now();
+            elapsedMs = startedAt == null ? 0 : (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        synchronized int remaining() {
+            return daysRequested - cycleResults.size();
+        }
+
+        synchronized SimulationJobStatus status() {
+            long elapsed = state == State.RUNNING ? (System.nanoTime() - startNanos) / 1_000_000 : elapsedMs;
+            LocalDate lastCommittedDate = cycleResults.isEmpty()
+                ? null : cycleResults.get(cycleResults.size() - 1).cycleDate();
+            return new SimulationJobStatus(id, state, daysRequested, checkpointDays, cycleResults.size(),
+                cyclesInCheckpoint, checkpointsCommitted, lastCommittedDate, submittedAt, startedAt, finishedAt,
+                elapsed, failureReason, List.copyOf(cycleResults));
+        }
+    }
+}
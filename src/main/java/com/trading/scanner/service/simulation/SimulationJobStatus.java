@@ -0,0 +1,36 @@
+package com.trading.scanner.service.simulation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Point-in-time view of a background advance started through /simulation/jobs.
+ * {@code cyclesCompleted} and {@code cycleResults} only count committed checkpoints;
+ * {@code cyclesInCheckpoint} are cycles of the open checkpoint, which are lost if it fails.
+ */
+public record SimulationJobStatus(
+    String jobId,
+    State state,
+    int daysRequested,
+    int checkpointDays,
+    int cyclesCompleted,
+    int cyclesInCheckpoint,
+    int checkpointsCommitted,
+    LocalDate lastCommittedDate,
+    LocalDateTime submittedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    long elapsedMs,
+    String failureReason,
+    List<SimulationCycleResult> cycleResults
+) {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.trading.scanner.service.simulation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A named, restorable copy of the simulation database and rolling indicator state.
+ */
+public record SimulationSnapshot(
+    String name,
+    int tradingOffset,
+    LocalDate simulatedDate,
+    LocalDateTime createdAt,
+    long sizeBytes
+) {}
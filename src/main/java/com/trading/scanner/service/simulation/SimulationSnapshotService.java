@@ -0,0 +1,226 @@
+package com.trading.scanner.service.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.scanner.calendar.NseHolidayCalendar;
+import com.trading.scanner.config.ExchangeClock;
+import com.trading.scanner.config.simulation.SimulationProperties;
+import com.trading.scanner.model.SimulationState;
+import com.trading.scanner.repository.SimulationStateRepository;
+import com.trading.scanner.service.PendingOutcomeQueue;
+import com.trading.scanner.service.data.PriceSeriesStore;
+import com.trading.scanner.service.indicators.IncrementalIndicatorEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Named snapshots of the simulation, so a what-if branch can start from any saved day
+ * instead of replaying the timeline from the base date.
+ *
+ * A snapshot is three files in {@code simulation.snapshotDir}: the database copied with
+ * SQLite's online backup API (so it includes the trading offset and every price, scan and
+ * outcome row), the rolling indicator state, and a small JSON descriptor. Restoring copies
+ * the database back over the live connection with the same API and reloads the indicator
+ * state; the emergency closures, the price store, the simulated clock and the
+ * pending-outcome queue are then reloaded, invalidated or rebuilt so they reflect the
+ * restored database. Forking copies a snapshot's files under a new name.
+ *
+ * All operations run under the simulation's advance lock, so they never interleave with a
+ * batch of cycles.
+ */
+@Slf4j
+@Service
+@Profile("simulation")
+@RequiredArgsConstructor
+public class SimulationSnapshotService {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String DATABASE_SUFFIX = ".db";
+    private static final String INDICATORS_SUFFIX = ".indicators.bin";
+    private static final String DESCRIPTOR_SUFFIX = ".json";
+
+    private final SimulationCycleService simulationCycleService;
+    private final SimulationStateRepository simulationStateRepository;
+    private final SimulationProperties simulationProperties;
+    private final PriceSeriesStore priceSeriesStore;
+    private final IncrementalIndicatorEngine incrementalIndicatorEngine;
+    private final PendingOutcomeQueue pendingOutcomeQueue;
+    private final ExchangeClock exchangeClock;
+    private final NseHolidayCalendar holidayCalendar;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public SimulationSnapshot create(String name) {
+        validateName(name);
+        return simulationCycleService.runExclusively(() -> {
+            if (Files.exists(descriptor(name))) {
+                throw new IllegalArgumentException("Snapshot already exists: " + name);
+            }
+            SimulationState state = simulationStateRepository.findById(1)
+                .orElseThrow(() -> new IllegalStateException("Simulation state not initialized"));
+            try {
+                Files.createDirectories(directory());
+                Path database = database(name);
+                Path tmp = database.resolveSibling(database.getFileName() + ".tmp");
+                Files.deleteIfExists(tmp);
+                executeSqlite("backup to", tmp);
+                Files.move(tmp, database, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                incrementalIndicatorEngine.writeState(indicators(name));
+
+                SimulationSnapshot snapshot = new SimulationSnapshot(name, state.getTradingOffset(),
+                    exchangeClock.today(), LocalDateTime.now(), Files.size(database));
+                objectMapper.writeValue(descriptor(name).toFile(), snapshot);
+                log.info("Simulation snapshot {} created at offset {} ({})", name,
+                    snapshot.tradingOffset(), snapshot.simulatedDate());
+                return snapshot;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create snapshot " + name, e);
+            }
+        });
+    }
+
+    public SimulationSnapshot restore(String name) {
+        SimulationSnapshot snapshot = get(name);
+        return simulationCycleService.runExclusively(() -> {
+            executeSqlite("restore from", database(name));
+            // Before anything that does calendar arithmetic: the restore replaced emergency_closures
+            holidayCalendar.loadEmergencyClosures();
+            priceSeriesStore.invalidateAll();
+            exchangeClock.invalidateSimulationCache();
+            pendingOutcomeQueue.rebuild();
+            try {
+                incrementalIndicatorEngine.readState(indicators(name));
+            } catch (IOException e) {
+                incrementalIndicatorEngine.reset();
+                log.warn("Indicator state of snapshot {} unreadable, rebuilding on demand: {}", name, e.getMessage());
+            }
+            log.warn("SIMULATION RESTORED from snapshot {} to offset {} ({})", name,
+                snapshot.tradingOffset(), snapshot.simulatedDate());
+            return snapshot;
+        });
+    }
+
+    /**
+     * Copies snapshot {@code name} to {@code target}, which can then be restored and
+     * advanced independently.
+     */
+    public SimulationSnapshot fork(String name, String target) {
+        SimulationSnapshot source = get(name);
+        validateName(target);
+        return simulationCycleService.runExclusively(() -> {
+            if (Files.exists(descriptor(target))) {
+                throw new IllegalArgumentException("Snapshot already exists: " + target);
+            }
+            try {
+                Files.copy(database(name), database(target));
+                if (Files.exists(indicators(name))) {
+                    Files.copy(indicators(name), indicators(target));
+                }
+                SimulationSnapshot snapshot = new SimulationSnapshot(target, source.tradingOffset(),
+                    source.simulatedDate(), LocalDateTime.now(), source.sizeBytes());
+                objectMapper.writeValue(descriptor(target).toFile(), snapshot);
+                log.info("Simulation snapshot {} forked from {}", target, name);
+                return snapshot;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to fork snapshot " + name + " to " + target, e);
+            }
+        });
+    }
+
+    public void delete(String name) {
+        get(name);
+        simulationCycleService.runExclusively(() -> {
+            try {
+                Files.deleteIfExists(descriptor(name));
+                Files.deleteIfExists(database(name));
+                Files.deleteIfExists(indicators(name));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete snapshot " + name, e);
+            }
+            log.info("Simulation snapshot {} deleted", name);
+            return null;
+        });
+    }
+
+    public SimulationSnapshot get(String name) {
+        validateName(name);
+        Path path = descriptor(name);
+        if (!Files.exists(path) || !Files.exists(database(name))) {
+            throw new IllegalArgumentException("No such snapshot: " + name);
+        }
+        try {
+            return objectMapper.readValue(path.toFile(), SimulationSnapshot.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + name, e);
+        }
+    }
+
+    /**
+     * All snapshots, oldest first.
+     */
+    public List<SimulationSnapshot> list() {
+        if (!Files.isDirectory(directory())) {
+            return List.of();
+        }
+        List<SimulationSnapshot> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory())) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(DESCRIPTOR_SUFFIX)).toList()) {
+                snapshots.add(objectMapper.readValue(file.toFile(), SimulationSnapshot.class));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots", e);
+        }
+        snapshots.sort(Comparator.comparing(SimulationSnapshot::createdAt));
+        return snapshots;
+    }
+
+    /**
+     * Runs one of the sqlite-jdbc backup commands on the pooled connection, so a restore
+     * replaces the database the application is actually using.
+     */
+    private void executeSqlite(String command, Path file) {
+        String path = file.toAbsolutePath().toString();
+        if (path.indexOf('\'') >= 0) {
+            throw new IllegalStateException("Snapshot path must not contain quotes: " + path);
+        }
+        String sql = command + " '" + path + "'";
+        jdbcTemplate.execute((StatementCallback<Integer>) statement -> statement.executeUpdate(sql));
+    }
+
+    private static void validateName(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Snapshot names are 1-64 letters, digits, '-' or '_': " + name);
+        }
+    }
+
+    private Path directory() {
+        return Path.of(simulationProperties.getSnapshotDir());
+    }
+
+    private Path database(String name) {
+        return directory().resolve(name + DATABASE_SUFFIX);
+    }
+
+    private Path indicators(String name) {
+        return directory().resolve(name + INDICATORS_SUFFIX);
+    }
+
+    private Path descriptor(String name) {
+        return directory().resolve(name + DESCRIPTOR_SUFFIX);
+    }
+}
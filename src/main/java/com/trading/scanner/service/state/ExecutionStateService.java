@@ -14,6 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -62,8 +64,20 @@ public class ExecutionStateService {
     }
 
     public boolean canScanForDate(LocalDate tradingDate) {
-        ScanExecutionState state = getOrCreateState(tradingDate);
+        return isScannable(getOrCreateState(tradingDate));
+    }
+
+    /**
+     * States in {@code [from, to]} that {@link #canScanForDate} would accept, oldest first.
+     * Dates without a state row have never been ingested and are not returned.
+     */
+    public List<ScanExecutionState> findScannableStates(LocalDate from, LocalDate to) {
+        return stateRepository.findByTradingDateBetweenOrderByTradingDateAsc(from, to).stream()
+            .filter(ExecutionStateService::isScannable)
+            .toList();
+    }
 
+    private static boolean isScannable(ScanExecutionState state) {
         if (state.getIngestionStatus() != ExecutionStatus.SUCCESS || !state.hasData()) {
             return false;
         }
@@ -84,6 +98,21 @@ public class ExecutionStateService {
         stateRepository.save(state);
     }
 
+    public void startScans(List<ScanExecutionState> states) {
+        LocalDateTime now = timeProvider.nowDateTime();
+        states.forEach(state -> state.startScan(now));
+        stateRepository.saveAll(states);
+    }
+
+    /**
+     * Marks a batch of scans complete in one write, with signal counts keyed by trading date.
+     */
+    public void completeScans(List<ScanExecutionState> states, Map<LocalDate, Integer> signalsByDate) {
+        LocalDateTime now = timeProvider.nowDateTime();
+        states.forEach(state -> state.completeScan(signalsByDate.getOrDefault(state.getTradingDate(), 0), now));
+        stateRepository.saveAll(states);
+    }
+
     // --- Legacy Transactional Methods ---
 
     @Transactional